@@ -0,0 +1,103 @@
+package com.fintrack.benchmark;
+
+import com.fintrack.model.enums.UserRole;
+import com.fintrack.security.JwtAuthenticationFilter;
+import com.fintrack.security.JwtTokenProvider;
+import com.fintrack.security.TokenRevocationRegistry;
+import com.fintrack.security.UserPrincipal;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Authentication hot path: token issuing, verification and the full filter. Run with the gc
+// profiler (configured in build.gradle) to see allocation per operation next to throughput.
+// verificationCacheTtl=0 disables the verified-token cache so every call pays the HMAC check.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits-required";
+
+    @Param({"0", "300000"})
+    private long verificationCacheTtl;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private UserPrincipal principal;
+    private String token;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "verificationCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(tokenProvider, "verificationCacheTtlMs", verificationCacheTtl);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+        principal = new UserPrincipal(42L, "bench@example.com", null, UserRole.USER);
+        token = tokenProvider.generateToken(principal);
+
+        // Tokens issued before the uid/role claims existed still go through UserDetailsService
+        legacyToken = Jwts.builder()
+                .subject(principal.getUsername())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        UserDetailsService userDetailsService = username -> new UserPrincipal(
+                principal.getId(), username, "encoded", principal.getRole());
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService,
+                new TokenRevocationRegistry(100_000, 0.001));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        return authenticate(token);
+    }
+
+    @Benchmark
+    public Object filterRequestWithLegacyToken() throws Exception {
+        return authenticate(legacyToken);
+    }
+
+    private Object authenticate(String bearerToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("Authorization", "Bearer " + bearerToken);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.fintrack.benchmark;
+
+import com.fintrack.security.TokenRevocationRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the revocation check in JwtAuthenticationFilter, with a denylist far
+// larger than production is expected to hold
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TokenRevocationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int revokedTokens;
+
+    private TokenRevocationRegistry registry;
+    private String liveTokenId;
+    private String revokedTokenId;
+    private Date issuedAt;
+
+    @Setup
+    public void setUp() {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        Map<String, Long> tokens = new HashMap<>();
+        for (int i = 0; i < revokedTokens; i++) {
+            tokens.put(UUID.randomUUID().toString(), expiresAt);
+        }
+        Map<Long, Long> notBefores = new HashMap<>();
+        for (long userId = 0; userId < 1000; userId++) {
+            notBefores.put(userId * 2, System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5));
+        }
+
+        registry = new TokenRevocationRegistry(100_000, 0.001);
+        registry.replaceAll(tokens, notBefores);
+
+        liveTokenId = UUID.randomUUID().toString();
+        revokedTokenId = tokens.keySet().iterator().next();
+        issuedAt = new Date();
+    }
+
+    @Benchmark
+    public boolean liveToken() {
+        return registry.isRevoked(liveTokenId, 1L, issuedAt);
+    }
+
+    @Benchmark
+    public boolean liveTokenOfUserWithCutoff() {
+        return registry.isRevoked(liveTokenId, 2L, issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return registry.isRevoked(revokedTokenId, 1L, issuedAt);
+    }
+}
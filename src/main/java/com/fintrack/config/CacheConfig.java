@@ -0,0 +1,26 @@
+package com.fintrack.config;
+
+import com.fintrack.security.UserCacheInvalidationNotifier;
+import com.fintrack.service.ReportCacheInvalidationNotifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    // Single-node default: local eviction is enough. Multi-node deployments register their own notifier.
+    @Bean
+    @ConditionalOnMissingBean
+    public UserCacheInvalidationNotifier userCacheInvalidationNotifier() {
+        return email -> {
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReportCacheInvalidationNotifier reportCacheInvalidationNotifier() {
+        return userId -> {
+        };
+    }
+}
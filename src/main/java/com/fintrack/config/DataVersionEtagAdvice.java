@@ -0,0 +1,37 @@
+package com.fintrack.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Sets the ETag computed by DataVersionEtagInterceptor just before a successful body is
+// written, unless the handler skipped it
+@ControllerAdvice
+public class DataVersionEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().getStatus() == HttpStatus.OK.value()
+                && servletRequest.getServletRequest().getAttribute(DataVersionEtagInterceptor.ETAG_ATTRIBUTE)
+                        instanceof String etag) {
+            response.getHeaders().setETag(etag);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,100 @@
+package com.fintrack.config;
+
+import com.fintrack.security.UserPrincipal;
+import com.fintrack.service.UserDataVersionService;
+import com.fintrack.util.AcceptEncoding;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// Answers conditional GETs from the user's data version before the handler runs, so an
+// unchanged request costs one primary-key lookup and no aggregation or serialization.
+// The version is read before the data, so a response is never labeled newer than it is.
+// The day is part of the tag because reports and budget progress default to the current
+// period, and gzip clients get their own tag since cached reports may be served compressed.
+// The tag of a 200 is only set when the body is written (DataVersionEtagAdvice), so a handler
+// whose result is incomplete can call skip() and the client will not revalidate it later.
+@Component
+@RequiredArgsConstructor
+public class DataVersionEtagInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = DataVersionEtagInterceptor.class.getName() + ".etag";
+
+    private final UserDataVersionService userDataVersionService;
+
+    public static void skip(HttpServletRequest request) {
+        request.removeAttribute(ETAG_ATTRIBUTE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return true;
+        }
+
+        long version = userDataVersionService.currentVersion(principal.getId());
+        String etag = "\"" + principal.getId() + "-" + version + "-"
+                + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + (AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) ? "-gzip" : "") + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return false;
+        }
+
+        // Streamed bodies bypass the advice and are never partial, so they are tagged right away
+        if (isStreamed(handler)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        } else {
+            request.setAttribute(ETAG_ATTRIBUTE, etag);
+        }
+        return true;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStreamed(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return false;
+        }
+        ResolvableType type = ResolvableType.forMethodParameter(method.getReturnType());
+        if (ResponseEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        return StreamingResponseBody.class.isAssignableFrom(type.toClass());
+    }
+}
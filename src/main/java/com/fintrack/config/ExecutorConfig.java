@@ -0,0 +1,41 @@
+package com.fintrack.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Fan-out of independent report queries; each task blocks on JDBC, which is what virtual
+    // threads are for. Concurrency is bounded by the connection pool, not by this executor.
+    @Bean(destroyMethod = "close")
+    public ExecutorService reportExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-", 0).factory());
+    }
+
+    // Writes to live-update connections. A send blocks while the client's socket is full, so each
+    // drain runs on its own virtual thread and a slow client never holds up the writer.
+    @Bean(destroyMethod = "close")
+    public ExecutorService liveUpdateExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-update-", 0).factory());
+    }
+
+    // Background cache warm-up: a few platform threads and a bounded queue, so warm-up work is
+    // dropped rather than piling up when logins spike
+    @Bean
+    public ThreadPoolTaskExecutor reportWarmupExecutor(@Value("${reports.warmup.threads:2}") int threads,
+                                                       @Value("${reports.warmup.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-warmup-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.fintrack.controller;
 
 import com.fintrack.dto.request.LoginRequest;
+import com.fintrack.dto.request.LogoutRequest;
+import com.fintrack.dto.request.RefreshTokenRequest;
 import com.fintrack.dto.request.RegisterRequest;
 import com.fintrack.dto.response.AuthResponse;
 import com.fintrack.service.AuthService;
@@ -32,5 +34,25 @@ public class AuthController {
         AuthResponse response = authService.login(request);
         return ResponseEntity.ok(response);
     }
-}
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("POST /api/auth/refresh - Refresh access token");
+        AuthResponse response = authService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) LogoutRequest request) {
+        log.info("POST /api/auth/logout - Revoke current session");
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll() {
+        log.info("POST /api/auth/logout-all - Revoke all sessions");
+        authService.logoutAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,20 @@
 package com.fintrack.controller;
 
 import com.fintrack.dto.request.BudgetRequest;
+import com.fintrack.dto.response.BudgetHistoryResponse;
 import com.fintrack.dto.response.BudgetProgressResponse;
 import com.fintrack.dto.response.BudgetResponse;
 import com.fintrack.model.enums.BudgetPeriod;
 import com.fintrack.service.BudgetService;
+import com.fintrack.service.ReportCacheService;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +28,7 @@ import java.util.List;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final ReportCacheService reportCacheService;
 
     @GetMapping
     public ResponseEntity<List<BudgetResponse>> getAllBudgets(
@@ -60,10 +68,27 @@ public class BudgetController {
         return ResponseEntity.noContent().build();
     }
 
+    // Bodies are pre-serialized, so the schema is declared here
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = BudgetProgressResponse.class))))
     @GetMapping("/progress")
-    public ResponseEntity<List<BudgetProgressResponse>> getBudgetProgress() {
+    public ResponseEntity<byte[]> getBudgetProgress(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("GET /api/budgets/progress - Get budget progress");
-        List<BudgetProgressResponse> progress = budgetService.getBudgetProgress();
-        return ResponseEntity.ok(progress);
+        ReportCacheService.CachedReport progress = reportCacheService.get("budget-progress",
+                budgetService::getBudgetProgress);
+        return CachedReportResponses.ok(progress, acceptEncoding);
+    }
+
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = BudgetHistoryResponse.class))))
+    @GetMapping("/history")
+    public ResponseEntity<byte[]> getBudgetHistory(
+            @RequestParam(defaultValue = "12") int periods,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/budgets/history - Get budget history (periods: {})", periods);
+        ReportCacheService.CachedReport history = reportCacheService.get("budget-history",
+                () -> budgetService.getBudgetHistory(periods), periods);
+        return CachedReportResponses.ok(history, acceptEncoding);
     }
 }
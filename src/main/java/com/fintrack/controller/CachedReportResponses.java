@@ -0,0 +1,26 @@
+package com.fintrack.controller;
+
+import com.fintrack.service.ReportCacheService.CachedReport;
+import com.fintrack.util.AcceptEncoding;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+// Writes pre-serialized report JSON as is. Compressed bodies go out untouched to clients that
+// accept gzip and are inflated for the rest.
+final class CachedReportResponses {
+
+    private CachedReportResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(CachedReport report, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (report.gzipped() && AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(report.body());
+        }
+        return response.body(report.uncompressedBody());
+    }
+}
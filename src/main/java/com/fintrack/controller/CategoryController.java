@@ -23,9 +23,10 @@ public class CategoryController {
 
     @GetMapping
     public ResponseEntity<List<CategoryResponse>> getAllCategories(
-            @RequestParam(required = false) TransactionType type) {
-        log.info("GET /api/categories - Get all categories (type: {})", type);
-        List<CategoryResponse> categories = categoryService.getAllCategories(type);
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(defaultValue = "false") boolean includeHidden) {
+        log.info("GET /api/categories - Get all categories (type: {}, includeHidden: {})", type, includeHidden);
+        List<CategoryResponse> categories = categoryService.getAllCategories(type, includeHidden);
         return ResponseEntity.ok(categories);
     }
 
@@ -52,6 +53,13 @@ public class CategoryController {
         return ResponseEntity.ok(category);
     }
 
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<CategoryResponse> restoreCategory(@PathVariable Long id) {
+        log.info("POST /api/categories/{}/restore - Restore hidden category", id);
+        CategoryResponse category = categoryService.restoreCategory(id);
+        return ResponseEntity.ok(category);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
         log.info("DELETE /api/categories/{} - Delete category", id);
@@ -0,0 +1,25 @@
+package com.fintrack.controller;
+
+import com.fintrack.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/live")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        log.info("GET /api/live - Open live update stream");
+        return liveUpdateService.subscribe();
+    }
+}
@@ -1,13 +1,30 @@
 package com.fintrack.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.config.DataVersionEtagInterceptor;
 import com.fintrack.dto.response.*;
+import com.fintrack.model.enums.TimeBucket;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.service.ReportCacheService;
 import com.fintrack.service.ReportService;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 
 @Slf4j
 @RestController
@@ -16,34 +33,112 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportCacheService reportCacheService;
+    private final ObjectMapper objectMapper;
 
+    // Bodies are pre-serialized, so the schema is declared here
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = MonthSummaryResponse.class)))
     @GetMapping("/month-summary")
-    public ResponseEntity<MonthSummaryResponse> getMonthSummary() {
+    public ResponseEntity<byte[]> getMonthSummary(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("GET /api/reports/month-summary - Get month summary");
-        MonthSummaryResponse summary = reportService.getMonthSummary();
-        return ResponseEntity.ok(summary);
+        ReportCacheService.CachedReport summary = reportCacheService.get("month-summary",
+                reportService::getMonthSummary);
+        return CachedReportResponses.ok(summary, acceptEncoding);
     }
 
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = CategorySummaryResponse.class))))
     @GetMapping("/category-summary")
-    public ResponseEntity<List<CategorySummaryResponse>> getCategorySummary(
-            @RequestParam(required = false) String month) {
+    public ResponseEntity<byte[]> getCategorySummary(
+            @RequestParam(required = false) String month,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("GET /api/reports/category-summary - Get category summary for month: {}", month);
-        List<CategorySummaryResponse> summary = reportService.getCategorySummary(month);
-        return ResponseEntity.ok(summary);
+        ReportCacheService.CachedReport summary = reportCacheService.get("category-summary",
+                () -> reportService.getCategorySummary(month), month);
+        return CachedReportResponses.ok(summary, acceptEncoding);
     }
 
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = MonthlyEvolutionResponse.class))))
     @GetMapping("/monthly-evolution")
-    public ResponseEntity<List<MonthlyEvolutionResponse>> getMonthlyEvolution(
-            @RequestParam(required = false, defaultValue = "12") Integer months) {
-        log.info("GET /api/reports/monthly-evolution - Get monthly evolution for {} months", months);
-        List<MonthlyEvolutionResponse> evolution = reportService.getMonthlyEvolution(months);
-        return ResponseEntity.ok(evolution);
+    public ResponseEntity<byte[]> getMonthlyEvolution(
+            @RequestParam(required = false, defaultValue = "12") Integer months,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/reports/monthly-evolution - Get monthly evolution for {} months, from {} to {}",
+                months, from, to);
+        ReportCacheService.CachedReport evolution = reportCacheService.get("monthly-evolution",
+                () -> reportService.getMonthlyEvolution(months, from, to), months, from, to);
+        return CachedReportResponses.ok(evolution, acceptEncoding);
     }
 
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = CategoryMatrixResponse.class)))
+    @GetMapping("/category-matrix")
+    public ResponseEntity<byte[]> getCategoryMatrix(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("GET /api/reports/category-matrix - Get {} category matrix from {} to {}", type, from, to);
+        ReportCacheService.CachedReport matrix = reportCacheService.get("category-matrix",
+                () -> reportService.getCategoryMatrix(from, to, type), from, to, type);
+        return CachedReportResponses.ok(matrix, acceptEncoding);
+    }
+
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = FinancialOverviewResponse.class)))
     @GetMapping("/overview")
-    public ResponseEntity<FinancialOverviewResponse> getFinancialOverview() {
+    public ResponseEntity<byte[]> getFinancialOverview(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
         log.info("GET /api/reports/overview - Get financial overview");
-        FinancialOverviewResponse overview = reportService.getFinancialOverview();
-        return ResponseEntity.ok(overview);
+        // A partial overview (some section timed out or failed) is served but never cached or
+        // tagged, so the next request computes it again
+        ReportCacheService.CachedReport overview = reportCacheService.get("overview",
+                reportService::getFinancialOverview, result -> {
+                    boolean complete = result.getUnavailableParts().isEmpty();
+                    if (!complete) {
+                        DataVersionEtagInterceptor.skip(request);
+                    }
+                    return complete;
+                });
+        return CachedReportResponses.ok(overview, acceptEncoding);
+    }
+
+    // Points are written one by one while the aggregate query is still being read
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = TimeSeriesPointResponse.class))))
+    @GetMapping("/timeseries")
+    public ResponseEntity<StreamingResponseBody> getTimeSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false, defaultValue = "MONTH") TimeBucket bucket,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false, defaultValue = "false") boolean groupByCategory) {
+        log.info("GET /api/reports/timeseries - Get {} time series from {} to {}", bucket, startDate, endDate);
+        ReportService.TimeSeriesQuery query = reportService.prepareTimeSeries(startDate, endDate, bucket, type,
+                categoryId, groupByCategory);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                reportService.streamTimeSeries(query, point -> {
+                    try {
+                        objectMapper.writeValue(json, point);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
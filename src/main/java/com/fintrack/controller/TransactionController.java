@@ -2,8 +2,8 @@ package com.fintrack.controller;
 
 import com.fintrack.dto.request.TransactionRequest;
 import com.fintrack.dto.response.TransactionResponse;
-import com.fintrack.dto.response.TransactionSummaryResponse;
 import com.fintrack.model.enums.TransactionType;
+import com.fintrack.service.ReportCacheService;
 import com.fintrack.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +13,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +27,7 @@ import java.time.LocalDate;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ReportCacheService reportCacheService;
 
     @GetMapping
     public ResponseEntity<Page<TransactionResponse>> getAllTransactions(
@@ -83,11 +85,13 @@ public class TransactionController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<TransactionSummaryResponse> getTransactionSummary(
+    public ResponseEntity<byte[]> getTransactionSummary(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("GET /api/transactions/summary - Get transaction summary");
-        TransactionSummaryResponse summary = transactionService.getTransactionSummary(startDate, endDate);
-        return ResponseEntity.ok(summary);
+        ReportCacheService.CachedReport summary = reportCacheService.get("transaction-summary",
+                () -> transactionService.getTransactionSummary(startDate, endDate), startDate, endDate);
+        return CachedReportResponses.ok(summary, acceptEncoding);
     }
 }
@@ -0,0 +1,14 @@
+package com.fintrack.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+
+    // Optional: when present, the refresh token's rotation family is revoked as well
+    private String refreshToken;
+}
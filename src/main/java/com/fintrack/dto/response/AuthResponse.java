@@ -15,6 +15,7 @@ public class AuthResponse {
     private String type;
     private Long expiresIn;
     private UserResponse user;
+    private String refreshToken;
 
     public AuthResponse(String token, Long expiresIn, UserResponse user) {
         this.token = token;
@@ -22,5 +23,10 @@ public class AuthResponse {
         this.expiresIn = expiresIn;
         this.user = user;
     }
+
+    public AuthResponse(String token, String refreshToken, Long expiresIn, UserResponse user) {
+        this(token, expiresIn, user);
+        this.refreshToken = refreshToken;
+    }
 }
 
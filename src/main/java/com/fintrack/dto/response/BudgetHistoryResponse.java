@@ -0,0 +1,42 @@
+package com.fintrack.dto.response;
+
+import com.fintrack.model.enums.BudgetPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetHistoryResponse {
+
+    private Long budgetId;
+    private String categoryName;
+    private String categoryColor;
+    private BigDecimal budgetAmount;
+    private BudgetPeriod period;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer periodsExceeded;
+    private Double adherenceRate;    // share of periods that stayed within the budget
+    private List<PeriodEntry> periods;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PeriodEntry {
+        private LocalDate periodStart;
+        private LocalDate periodEnd;
+        private BigDecimal spentAmount;
+        private BigDecimal remainingAmount;
+        private Double percentageUsed;
+        private BudgetProgressResponse.BudgetStatus status;
+    }
+}
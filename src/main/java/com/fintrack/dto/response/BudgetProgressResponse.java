@@ -26,10 +26,22 @@ public class BudgetProgressResponse {
     private BudgetPeriod period;
     private LocalDate startDate;
     private LocalDate endDate;
+    private BigDecimal projectedSpend;          // by the end of the current period
+    private LocalDate projectedOverrunDate;     // null if the budget is not projected to be exceeded
+    private BigDecimal dailyAllowance;          // left to spend per remaining day, today included
 
     public enum BudgetStatus {
         OK,         // < 80%
         WARNING,    // 80-100%
-        EXCEEDED    // > 100%
+        EXCEEDED;   // > 100%
+
+        public static BudgetStatus of(double percentageUsed) {
+            if (percentageUsed >= 100) {
+                return EXCEEDED;
+            } else if (percentageUsed >= 80) {
+                return WARNING;
+            }
+            return OK;
+        }
     }
 }
@@ -0,0 +1,22 @@
+package com.fintrack.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetStatusUpdate {
+
+    private Long budgetId;
+    private String categoryName;
+    private BudgetProgressResponse.BudgetStatus previousStatus;
+    private BudgetProgressResponse.BudgetStatus status;
+    private BigDecimal spentAmount;
+    private BigDecimal budgetAmount;
+}
@@ -0,0 +1,37 @@
+package com.fintrack.dto.response;
+
+import com.fintrack.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Columnar layout: row i of totals, counts and shares belongs to categories[i], column j to
+// months[j]. Shares are the category's percentage of that month's total.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryMatrixResponse {
+
+    private TransactionType type;
+    private List<String> months;
+    private List<CategoryEntry> categories;
+    private BigDecimal[][] totals;
+    private long[][] counts;
+    private double[][] shares;
+    private BigDecimal[] monthTotals;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CategoryEntry {
+        private Long id;
+        private String name;
+        private String color;
+    }
+}
@@ -19,6 +19,8 @@ public class CategoryResponse {
     private TransactionType type;
     private String color;
     private String icon;
+    private boolean system;
+    private boolean hidden;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -18,6 +18,8 @@ public class FinancialOverviewResponse {
     private List<CategorySummaryResponse> topCategories;
     private List<TransactionResponse> recentTransactions;
     private TotalAllTime totalAllTime;
+    // Sections that failed or timed out and are therefore null
+    private List<String> unavailableParts;
 
     @Data
     @NoArgsConstructor
@@ -0,0 +1,22 @@
+package com.fintrack.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Change of one month's totals caused by a single write, to be added to the client's copy
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthTotalsUpdate {
+
+    private String month;
+    private BigDecimal incomeDelta;
+    private BigDecimal expenseDelta;
+    private BigDecimal balanceDelta;
+    private Long transactionCountDelta;
+}
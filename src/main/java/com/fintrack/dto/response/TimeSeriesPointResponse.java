@@ -0,0 +1,26 @@
+package com.fintrack.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSeriesPointResponse {
+
+    private LocalDate start;
+    private LocalDate end;
+    private Long categoryId;
+    private String categoryName;
+    private String categoryColor;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+    private Long transactionCount;
+}
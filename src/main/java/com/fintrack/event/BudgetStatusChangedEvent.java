@@ -0,0 +1,12 @@
+package com.fintrack.event;
+
+import com.fintrack.dto.response.BudgetProgressResponse.BudgetStatus;
+
+import java.math.BigDecimal;
+
+// Published after commit when a transaction write moves a budget into another status,
+// e.g. from OK to WARNING at 80% or from WARNING back to OK after a delete
+public record BudgetStatusChangedEvent(Long userId, Long budgetId, String categoryName,
+                                       BudgetStatus previousStatus, BudgetStatus status,
+                                       BigDecimal spentAmount, BigDecimal budgetAmount) {
+}
@@ -0,0 +1,32 @@
+package com.fintrack.event;
+
+import com.fintrack.model.Transaction;
+import com.fintrack.model.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Published synchronously inside the writing transaction whenever a transaction is created,
+// updated or deleted. before is null on create and after is null on delete.
+public record TransactionChangedEvent(Long userId, Long transactionId, Snapshot before, Snapshot after) {
+
+    public record Snapshot(Long categoryId, TransactionType type, LocalDate date, BigDecimal amount) {
+
+        public static Snapshot of(Transaction transaction) {
+            return new Snapshot(transaction.getCategory().getId(), transaction.getType(),
+                    transaction.getDate(), transaction.getAmount());
+        }
+    }
+
+    public static TransactionChangedEvent created(Long userId, Transaction transaction) {
+        return new TransactionChangedEvent(userId, transaction.getId(), null, Snapshot.of(transaction));
+    }
+
+    public static TransactionChangedEvent updated(Long userId, Snapshot before, Transaction transaction) {
+        return new TransactionChangedEvent(userId, transaction.getId(), before, Snapshot.of(transaction));
+    }
+
+    public static TransactionChangedEvent deleted(Long userId, Transaction transaction) {
+        return new TransactionChangedEvent(userId, transaction.getId(), Snapshot.of(transaction), null);
+    }
+}
@@ -0,0 +1,5 @@
+package com.fintrack.event;
+
+// Published inside the writing transaction after the user's data version was incremented
+public record UserDataChangedEvent(Long userId) {
+}
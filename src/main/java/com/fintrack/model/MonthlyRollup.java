@@ -0,0 +1,60 @@
+package com.fintrack.model;
+
+import com.fintrack.model.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Written through MonthlyRollupRepository (JDBC upserts); mapped so the schema is validated
+@Entity
+@Table(name = "monthly_rollups")
+@IdClass(MonthlyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate monthStart;
+        private Long categoryId;
+        private TransactionType type;
+    }
+}
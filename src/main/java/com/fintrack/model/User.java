@@ -1,6 +1,7 @@
 package com.fintrack.model;
 
 import com.fintrack.model.enums.UserRole;
+import com.fintrack.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -9,6 +10,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,6 +18,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -54,5 +57,10 @@ public class User {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    // Maintained only by UserDataVersionService through atomic increments
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long dataVersion;
 }
 
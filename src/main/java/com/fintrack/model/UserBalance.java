@@ -0,0 +1,36 @@
+package com.fintrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Written through UserBalanceRepository (JDBC increments); mapped so the schema is validated
+@Entity
+@Table(name = "user_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalExpense;
+
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
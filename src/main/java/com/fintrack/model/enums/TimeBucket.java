@@ -0,0 +1,9 @@
+package com.fintrack.model.enums;
+
+public enum TimeBucket {
+    DAY,
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR
+}
@@ -0,0 +1,151 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.enums.BudgetPeriod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Spending of all of a user's budgets over their current period, in one statement. Each derived
+// table yields at most one row per category, so joining both to the budgets multiplies nothing.
+@Repository
+@RequiredArgsConstructor
+public class BudgetProgressRepository {
+
+    private static final String BUDGET_SPENDING_SQL =
+            "SELECT b.id, b.category_id, b.amount, b.period, b.start_date, b.end_date, c.name, c.color, " +
+            "CASE b.period " +
+            "WHEN 'WEEKLY' THEN COALESCE(w.week_spent, 0) " +
+            "WHEN 'MONTHLY' THEN COALESCE(m.month_spent, 0) " +
+            "ELSE COALESCE(m.year_spent, 0) END AS spent " +
+            "FROM budgets b " +
+            "INNER JOIN categories c ON c.id = b.category_id " +
+            "LEFT JOIN (SELECT r.category_id, " +
+            "SUM(CASE WHEN r.month_start = ? THEN r.total_amount ELSE 0 END) AS month_spent, " +
+            "SUM(r.total_amount) AS year_spent " +
+            "FROM monthly_rollups r " +
+            "WHERE r.user_id = ? AND r.type = 'EXPENSE' AND r.month_start >= ? AND r.month_start <= ? " +
+            "GROUP BY r.category_id) m ON m.category_id = b.category_id " +
+            "LEFT JOIN (SELECT t.category_id, SUM(t.amount) AS week_spent " +
+            "FROM transactions t " +
+            "WHERE t.user_id = ? AND t.type = 'EXPENSE' AND t.date >= ? AND t.date <= ? " +
+            "GROUP BY t.category_id) w ON w.category_id = b.category_id " +
+            "WHERE b.user_id = ? " +
+            "ORDER BY b.id";
+
+    private static final String BUDGET_HISTORY_SQL =
+            "SELECT b.id, b.amount, b.period, b.start_date, b.end_date, c.name, c.color, " +
+            "s.period_start, s.spent " +
+            "FROM budgets b " +
+            "INNER JOIN categories c ON c.id = b.category_id " +
+            "LEFT JOIN (" +
+            "SELECT t.category_id, 'WEEKLY' AS period, " + weekStart("t.date") + " AS period_start, " +
+            "SUM(t.amount) AS spent " +
+            "FROM transactions t " +
+            "WHERE t.user_id = ? AND t.type = 'EXPENSE' AND t.date >= ? AND t.date <= ? " +
+            "GROUP BY t.category_id, " + weekStart("t.date") + " " +
+            "UNION ALL " +
+            "SELECT r.category_id, 'MONTHLY' AS period, r.month_start AS period_start, " +
+            "SUM(r.total_amount) AS spent " +
+            "FROM monthly_rollups r " +
+            "WHERE r.user_id = ? AND r.type = 'EXPENSE' AND r.month_start >= ? AND r.month_start <= ? " +
+            "GROUP BY r.category_id, r.month_start " +
+            "UNION ALL " +
+            "SELECT r.category_id, 'YEARLY' AS period, CAST(DATE_TRUNC('year', r.month_start) AS DATE) AS period_start, " +
+            "SUM(r.total_amount) AS spent " +
+            "FROM monthly_rollups r " +
+            "WHERE r.user_id = ? AND r.type = 'EXPENSE' AND r.month_start >= ? AND r.month_start <= ? " +
+            "GROUP BY r.category_id, CAST(DATE_TRUNC('year', r.month_start) AS DATE)" +
+            ") s ON s.category_id = b.category_id AND s.period = b.period " +
+            "AND s.period_start >= CASE b.period " +
+            "WHEN 'WEEKLY' THEN " + weekStart("b.start_date") + " " +
+            "WHEN 'MONTHLY' THEN CAST(DATE_TRUNC('month', b.start_date) AS DATE) " +
+            "ELSE CAST(DATE_TRUNC('year', b.start_date) AS DATE) END " +
+            "AND (b.end_date IS NULL OR s.period_start <= b.end_date) " +
+            "WHERE b.user_id = ? " +
+            "ORDER BY b.id, s.period_start";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record BudgetSpending(Long budgetId, Long categoryId, String categoryName, String categoryColor,
+                                 BigDecimal amount, BudgetPeriod period, LocalDate startDate, LocalDate endDate, BigDecimal spent) {
+    }
+
+    // Spending per period start, only for periods that had any and that overlap the budget's
+    // validity; periods without spending are left for the caller to fill in
+    public record BudgetHistory(Long budgetId, String categoryName, String categoryColor, BigDecimal amount,
+                                BudgetPeriod period, LocalDate startDate, LocalDate endDate,
+                                Map<LocalDate, BigDecimal> spentByPeriod) {
+    }
+
+    // Monthly and yearly periods align with whole months and read the rollups; weeks cut across
+    // months and sum the raw transactions of the given week
+    public List<BudgetSpending> findSpending(Long userId, LocalDate weekStart, LocalDate weekEnd,
+                                             LocalDate monthStart, LocalDate yearStart) {
+        return jdbcTemplate.query(BUDGET_SPENDING_SQL,
+                (rs, rowNum) -> {
+                    Date endDate = rs.getDate("end_date");
+                    return new BudgetSpending(
+                            rs.getLong("id"),
+                            rs.getLong("category_id"),
+                            rs.getString("name"),
+                            rs.getString("color"),
+                            rs.getBigDecimal("amount"),
+                            BudgetPeriod.valueOf(rs.getString("period")),
+                            rs.getDate("start_date").toLocalDate(),
+                            endDate != null ? endDate.toLocalDate() : null,
+                            rs.getBigDecimal("spent"));
+                },
+                monthStart, userId, yearStart, monthStart,
+                userId, weekStart, weekEnd,
+                userId);
+    }
+
+    // Every budget with its spending per period since the given period starts, in one statement.
+    // Spending is bucketed by each budget's own period: weeks from the raw transactions, months
+    // and years from the rollups.
+    public List<BudgetHistory> findHistory(Long userId, LocalDate weekFrom, LocalDate weekTo,
+                                           YearMonth monthFrom, YearMonth monthTo, int yearFrom, int yearTo) {
+        Map<Long, BudgetHistory> histories = new LinkedHashMap<>();
+        jdbcTemplate.query(BUDGET_HISTORY_SQL,
+                (ResultSet rs) -> {
+                    BudgetHistory history = histories.get(rs.getLong("id"));
+                    if (history == null) {
+                        Date endDate = rs.getDate("end_date");
+                        history = new BudgetHistory(
+                                rs.getLong("id"),
+                                rs.getString("name"),
+                                rs.getString("color"),
+                                rs.getBigDecimal("amount"),
+                                BudgetPeriod.valueOf(rs.getString("period")),
+                                rs.getDate("start_date").toLocalDate(),
+                                endDate != null ? endDate.toLocalDate() : null,
+                                new HashMap<>());
+                        histories.put(history.budgetId(), history);
+                    }
+                    Date periodStart = rs.getDate("period_start");
+                    if (periodStart != null) {
+                        history.spentByPeriod().put(periodStart.toLocalDate(), rs.getBigDecimal("spent"));
+                    }
+                },
+                userId, weekFrom, weekTo,
+                userId, monthFrom.atDay(1), monthTo.atDay(1),
+                userId, LocalDate.of(yearFrom, 1, 1), LocalDate.of(yearTo, 12, 1),
+                userId);
+        return List.copyOf(histories.values());
+    }
+
+    // Monday of the date's week. DATE_TRUNC('week', ...) starts weeks on Sunday in H2.
+    private static String weekStart(String date) {
+        return "CAST(" + date + " - CAST(EXTRACT(ISODOW FROM " + date + ") AS INTEGER) + 1 AS DATE)";
+    }
+}
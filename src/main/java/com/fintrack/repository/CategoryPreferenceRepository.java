@@ -0,0 +1,18 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.CategoryPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryPreferenceRepository extends JpaRepository<CategoryPreference, Long> {
+
+    List<CategoryPreference> findByUserId(Long userId);
+
+    Optional<CategoryPreference> findByUserIdAndCategoryId(Long userId, Long categoryId);
+
+    boolean existsByUserIdAndCategoryIdAndHiddenTrue(Long userId, Long categoryId);
+}
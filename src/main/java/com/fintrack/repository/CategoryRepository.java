@@ -14,6 +14,8 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     List<Category> findByUserId(Long userId);
+
+    List<Category> findByUserIsNullOrderByTypeAscNameAsc();
     
     List<Category> findByUserIdAndType(Long userId, TransactionType type);
     
@@ -0,0 +1,164 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.TransactionAggregateRepository.DatedTotals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Reads and incremental writes of monthly_rollups. Every report query here touches at most
+// one row per month, category and type, independent of how many transactions a user has.
+@Repository
+@RequiredArgsConstructor
+public class MonthlyRollupRepository {
+
+    private static final String UPDATE_SQL =
+            "UPDATE monthly_rollups SET total_amount = total_amount + ?, " +
+            "transaction_count = transaction_count + ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ? AND month_start = ? AND category_id = ? AND type = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO monthly_rollups (user_id, month_start, category_id, type, total_amount, " +
+            "transaction_count, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING";
+
+    private static final String MONTHLY_TOTALS_SQL =
+            "SELECT r.month_start, " +
+            "COALESCE(SUM(CASE WHEN r.type = 'INCOME' THEN r.total_amount END), 0) AS income, " +
+            "COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' THEN r.total_amount END), 0) AS expense, " +
+            "SUM(r.transaction_count) AS transaction_count " +
+            "FROM monthly_rollups r " +
+            "WHERE r.user_id = ? AND r.month_start >= ? AND r.month_start <= ? " +
+            "GROUP BY r.month_start";
+
+    private static final String CATEGORY_TOTALS_SQL =
+            "SELECT c.id, c.name, c.color, r.total_amount, r.transaction_count " +
+            "FROM monthly_rollups r " +
+            "INNER JOIN categories c ON r.category_id = c.id " +
+            "WHERE r.user_id = ? AND r.month_start = ? AND r.type = ? AND r.transaction_count > 0 " +
+            "ORDER BY r.total_amount DESC";
+
+    private static final String LOCK_USERS_SQL =
+            "SELECT u.id FROM users u WHERE u.id > ? AND u.id <= ? ORDER BY u.id FOR UPDATE";
+
+    private static final String DELETE_USERS_SQL =
+            "DELETE FROM monthly_rollups WHERE user_id > ? AND user_id <= ?";
+
+    private static final String REBUILD_USERS_SQL =
+            "INSERT INTO monthly_rollups (user_id, month_start, category_id, type, total_amount, " +
+            "transaction_count, updated_at) " +
+            "SELECT t.user_id, CAST(DATE_TRUNC('month', t.date) AS DATE), t.category_id, t.type, " +
+            "SUM(t.amount), COUNT(*), CURRENT_TIMESTAMP " +
+            "FROM transactions t WHERE t.user_id > ? AND t.user_id <= ? " +
+            "GROUP BY t.user_id, CAST(DATE_TRUNC('month', t.date) AS DATE), t.category_id, t.type";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record MonthlyTotals(YearMonth month, BigDecimal income, BigDecimal expense, long count) {
+
+        public static MonthlyTotals empty(YearMonth month) {
+            return new MonthlyTotals(month, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        }
+
+        public BigDecimal balance() {
+            return income.subtract(expense);
+        }
+    }
+
+    public record CategoryTotals(Long categoryId, String name, String color, BigDecimal total, long count) {
+    }
+
+    // Upsert that works on both PostgreSQL and H2: update, else insert, else (lost the insert
+    // race to another transaction) update again
+    public void addToBucket(Long userId, YearMonth month, Long categoryId, TransactionType type,
+                            BigDecimal amountDelta, long countDelta) {
+        LocalDate monthStart = month.atDay(1);
+        Object[] updateArgs = {amountDelta, countDelta, userId, monthStart, categoryId, type.name()};
+        if (jdbcTemplate.update(UPDATE_SQL, updateArgs) > 0) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_SQL, userId, monthStart, categoryId, type.name(), amountDelta, countDelta) > 0) {
+            return;
+        }
+        jdbcTemplate.update(UPDATE_SQL, updateArgs);
+    }
+
+    // One row per month that has transactions; months without data are absent
+    public List<MonthlyTotals> sumByMonth(Long userId, YearMonth from, YearMonth to) {
+        return jdbcTemplate.query(MONTHLY_TOTALS_SQL,
+                (rs, rowNum) -> new MonthlyTotals(
+                        YearMonth.from(rs.getDate("month_start").toLocalDate()),
+                        rs.getBigDecimal("income"),
+                        rs.getBigDecimal("expense"),
+                        rs.getLong("transaction_count")),
+                userId, from.atDay(1), to.atDay(1));
+    }
+
+    public List<CategoryTotals> sumByCategory(Long userId, YearMonth month, TransactionType type) {
+        return jdbcTemplate.query(CATEGORY_TOTALS_SQL,
+                (rs, rowNum) -> new CategoryTotals(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("color"),
+                        rs.getBigDecimal("total_amount"),
+                        rs.getLong("transaction_count")),
+                userId, month.atDay(1), type.name());
+    }
+
+    // Same rows as TransactionAggregateRepository.streamDailyTotals, one per month (dated on its
+    // first day), for ranges that cover whole months; also read in chunks inside a transaction
+    public void streamMonthlyTotals(Long userId, YearMonth from, YearMonth to, TransactionType type,
+                                    Long categoryId, boolean byCategory, Consumer<DatedTotals> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT r.month_start, ");
+        if (byCategory) {
+            sql.append("c.id AS category_id, c.name AS category_name, c.color AS category_color, ");
+        }
+        sql.append("COALESCE(SUM(CASE WHEN r.type = 'INCOME' THEN r.total_amount END), 0) AS income, ")
+                .append("COALESCE(SUM(CASE WHEN r.type = 'EXPENSE' THEN r.total_amount END), 0) AS expense, ")
+                .append("SUM(r.transaction_count) AS transaction_count FROM monthly_rollups r ");
+        if (byCategory) {
+            sql.append("INNER JOIN categories c ON r.category_id = c.id ");
+        }
+        sql.append("WHERE r.user_id = ? AND r.month_start >= ? AND r.month_start <= ? AND r.transaction_count > 0");
+
+        List<Object> params = new ArrayList<>(List.of(userId, from.atDay(1), to.atDay(1)));
+        if (type != null) {
+            sql.append(" AND r.type = ?");
+            params.add(type.name());
+        }
+        if (categoryId != null) {
+            sql.append(" AND r.category_id = ?");
+            params.add(categoryId);
+        }
+        sql.append(byCategory
+                ? " GROUP BY r.month_start, c.id, c.name, c.color ORDER BY r.month_start, c.id"
+                : " GROUP BY r.month_start ORDER BY r.month_start");
+
+        jdbcTemplate.query(TransactionAggregateRepository.streaming(sql.toString(), params.toArray()), rs -> {
+            consumer.accept(new DatedTotals(
+                    rs.getDate("month_start").toLocalDate(),
+                    byCategory ? rs.getLong("category_id") : null,
+                    byCategory ? rs.getString("category_name") : null,
+                    byCategory ? rs.getString("category_color") : null,
+                    rs.getBigDecimal("income"),
+                    rs.getBigDecimal("expense"),
+                    rs.getLong("transaction_count")));
+        });
+    }
+
+    // Recomputes the rollups of all users with afterUserId < id <= lastUserId from raw transactions.
+    // Must run in a transaction: the users rows are locked first, which waits for the chunk's
+    // in-flight writers and holds off new ones (every transaction write locks its users row
+    // before touching a rollup), so no delta lands between the delete and the re-insert.
+    public int rebuildForUsers(long afterUserId, long lastUserId) {
+        jdbcTemplate.queryForList(LOCK_USERS_SQL, Long.class, afterUserId, lastUserId);
+        jdbcTemplate.update(DELETE_USERS_SQL, afterUserId, lastUserId);
+        return jdbcTemplate.update(REBUILD_USERS_SQL, afterUserId, lastUserId);
+    }
+}
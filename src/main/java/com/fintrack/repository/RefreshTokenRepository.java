@@ -0,0 +1,47 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.RefreshToken;
+import com.fintrack.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usedAt = :usedAt " +
+           "WHERE r.id = :id AND r.usedAt IS NULL AND r.revokedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :revokedAt " +
+           "WHERE r.familyId = :familyId AND r.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revokedAt = :revokedAt " +
+           "WHERE r.user.id = :userId AND r.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    // Users holding a usable refresh token, i.e. with a live session, in id order
+    @Query("SELECT DISTINCT u FROM RefreshToken r JOIN r.user u " +
+           "WHERE r.revokedAt IS NULL AND r.usedAt IS NULL AND r.expiresAt > :now AND u.id > :afterId " +
+           "ORDER BY u.id")
+    List<User> findUsersWithActiveSessionsAfter(@Param("afterId") Long afterId, @Param("now") LocalDateTime now,
+                                                Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
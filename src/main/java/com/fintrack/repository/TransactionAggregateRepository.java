@@ -0,0 +1,169 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Set-based aggregates over transactions that don't map onto derived JPA queries
+@Repository
+@RequiredArgsConstructor
+public class TransactionAggregateRepository {
+
+    // Rows fetched per round trip by streamed queries
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record DateRange(LocalDate start, LocalDate end) {
+
+        public static DateRange of(YearMonth month) {
+            return new DateRange(month.atDay(1), month.atEndOfMonth());
+        }
+    }
+
+    public record PeriodTotals(DateRange range, BigDecimal income, BigDecimal expense, long count) {
+
+        public BigDecimal balance() {
+            return income.subtract(expense);
+        }
+    }
+
+    // Totals of one date, optionally of one category; category fields are null when not grouped
+    public record DatedTotals(LocalDate date, Long categoryId, String categoryName, String categoryColor,
+                              BigDecimal income, BigDecimal expense, long count) {
+    }
+
+    // Per-day totals in date (then category) order, handed to the consumer row by row as the
+    // result set is read, without collecting them first. Callers run it in a (read-only)
+    // transaction: the PostgreSQL driver only honors the fetch size with autocommit off and
+    // otherwise buffers the whole result before the first row.
+    public void streamDailyTotals(Long userId, LocalDate start, LocalDate end, TransactionType type,
+                                  Long categoryId, boolean byCategory, Consumer<DatedTotals> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT t.date AS txn_date, ");
+        if (byCategory) {
+            sql.append("c.id AS category_id, c.name AS category_name, c.color AS category_color, ");
+        }
+        sql.append("COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0) AS income, ")
+                .append("COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0) AS expense, ")
+                .append("COUNT(*) AS transaction_count FROM transactions t ");
+        if (byCategory) {
+            sql.append("INNER JOIN categories c ON t.category_id = c.id ");
+        }
+        sql.append("WHERE t.user_id = ? AND t.date >= ? AND t.date <= ?");
+
+        List<Object> params = new ArrayList<>(List.of(userId, start, end));
+        if (type != null) {
+            sql.append(" AND t.type = ?");
+            params.add(type.name());
+        }
+        if (categoryId != null) {
+            sql.append(" AND t.category_id = ?");
+            params.add(categoryId);
+        }
+        sql.append(byCategory
+                ? " GROUP BY t.date, c.id, c.name, c.color ORDER BY t.date, c.id"
+                : " GROUP BY t.date ORDER BY t.date");
+
+        jdbcTemplate.query(streaming(sql.toString(), params.toArray()), rs -> {
+            consumer.accept(new DatedTotals(
+                    rs.getDate("txn_date").toLocalDate(),
+                    byCategory ? rs.getLong("category_id") : null,
+                    byCategory ? rs.getString("category_name") : null,
+                    byCategory ? rs.getString("category_color") : null,
+                    rs.getBigDecimal("income"),
+                    rs.getBigDecimal("expense"),
+                    rs.getLong("transaction_count")));
+        });
+    }
+
+    // Statement that reads its result in chunks of STREAM_FETCH_SIZE rows
+    static PreparedStatementCreator streaming(String sql, Object[] params) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(params).setValues(statement);
+            return statement;
+        };
+    }
+
+    // Income, expense and count for any number of (possibly overlapping) date ranges in one pass.
+    // Each range becomes a conditional aggregate column; the WHERE clause only covers the union
+    // of the ranges so the user/date index is scanned once. Results follow the input order.
+    public List<PeriodTotals> sumByPeriods(Long userId, List<DateRange> ranges) {
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        List<Object> params = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            DateRange range = ranges.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("COALESCE(SUM(CASE WHEN t.type = 'INCOME' AND t.date >= ? AND t.date <= ? THEN t.amount END), 0) AS income_").append(i)
+               .append(", COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' AND t.date >= ? AND t.date <= ? THEN t.amount END), 0) AS expense_").append(i)
+               .append(", COUNT(CASE WHEN t.date >= ? AND t.date <= ? THEN 1 END) AS count_").append(i);
+            for (int column = 0; column < 3; column++) {
+                params.add(range.start());
+                params.add(range.end());
+            }
+        }
+
+        sql.append(" FROM transactions t WHERE t.user_id = ? AND (");
+        params.add(userId);
+        List<DateRange> union = mergeRanges(ranges);
+        for (int i = 0; i < union.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(t.date >= ? AND t.date <= ?)");
+            params.add(union.get(i).start());
+            params.add(union.get(i).end());
+        }
+        sql.append(")");
+
+        return jdbcTemplate.queryForObject(sql.toString(), (rs, rowNum) -> {
+            List<PeriodTotals> totals = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                totals.add(new PeriodTotals(ranges.get(i),
+                        rs.getBigDecimal("income_" + i),
+                        rs.getBigDecimal("expense_" + i),
+                        rs.getLong("count_" + i)));
+            }
+            return totals;
+        }, params.toArray());
+    }
+
+    // Sorts and coalesces overlapping or adjacent ranges
+    private static List<DateRange> mergeRanges(List<DateRange> ranges) {
+        List<DateRange> sorted = ranges.stream()
+                .sorted(Comparator.comparing(DateRange::start))
+                .toList();
+        List<DateRange> merged = new ArrayList<>();
+        DateRange current = sorted.get(0);
+        for (DateRange next : sorted.subList(1, sorted.size())) {
+            if (!next.start().isAfter(current.end().plusDays(1))) {
+                current = new DateRange(current.start(),
+                        next.end().isAfter(current.end()) ? next.end() : current.end());
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+}
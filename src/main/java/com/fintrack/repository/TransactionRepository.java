@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,6 +20,11 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Page<Transaction> findByUserId(Long userId, Pageable pageable);
     
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
+
+    // Latest transactions with their category in one query and without a count query
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user.id = :userId " +
+           "ORDER BY t.date DESC, t.createdAt DESC")
+    List<Transaction> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
     
     @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
            "AND (:type IS NULL OR t.type = :type) " +
@@ -0,0 +1,106 @@
+package com.fintrack.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// One row per user with all-time totals. Writers only ever add deltas, so concurrent
+// transactions of the same user serialize on the row lock instead of conflicting.
+@Repository
+@RequiredArgsConstructor
+public class UserBalanceRepository {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE user_balances SET total_income = total_income + ?, total_expense = total_expense + ?, " +
+            "transaction_count = transaction_count + ?, updated_at = CURRENT_TIMESTAMP WHERE user_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_balances (user_id, total_income, total_expense, transaction_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING";
+
+    private static final String FIND_SQL =
+            "SELECT total_income, total_expense, transaction_count FROM user_balances WHERE user_id = ?";
+
+    private static final String LOCK_SQL =
+            "SELECT user_id FROM user_balances WHERE user_id = ? FOR UPDATE";
+
+    private static final String FIND_DRIFTED_SQL =
+            "SELECT u.id FROM users u " +
+            "LEFT JOIN (SELECT t.user_id, " +
+            "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0) AS income, " +
+            "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0) AS expense, " +
+            "COUNT(*) AS cnt " +
+            "FROM transactions t WHERE t.user_id > ? AND t.user_id <= ? GROUP BY t.user_id) t " +
+            "ON t.user_id = u.id " +
+            "LEFT JOIN user_balances b ON b.user_id = u.id " +
+            "WHERE u.id > ? AND u.id <= ? AND (b.user_id IS NULL " +
+            "OR b.total_income <> COALESCE(t.income, 0) " +
+            "OR b.total_expense <> COALESCE(t.expense, 0) " +
+            "OR b.transaction_count <> COALESCE(t.cnt, 0)) " +
+            "ORDER BY u.id";
+
+    private static final String RECOMPUTE_SQL =
+            "UPDATE user_balances SET " +
+            "total_income = (SELECT COALESCE(SUM(t.amount), 0) FROM transactions t " +
+            "WHERE t.user_id = ? AND t.type = 'INCOME'), " +
+            "total_expense = (SELECT COALESCE(SUM(t.amount), 0) FROM transactions t " +
+            "WHERE t.user_id = ? AND t.type = 'EXPENSE'), " +
+            "transaction_count = (SELECT COUNT(*) FROM transactions t WHERE t.user_id = ?), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Totals(BigDecimal income, BigDecimal expense, long count) {
+
+        public static Totals empty() {
+            return new Totals(BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        }
+
+        public BigDecimal balance() {
+            return income.subtract(expense);
+        }
+    }
+
+    // Same update/insert/update upsert as the monthly rollups, portable across PostgreSQL and H2
+    public void addDelta(Long userId, BigDecimal incomeDelta, BigDecimal expenseDelta, long countDelta) {
+        Object[] incrementArgs = {incomeDelta, expenseDelta, countDelta, userId};
+        if (jdbcTemplate.update(INCREMENT_SQL, incrementArgs) > 0) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_SQL, userId, incomeDelta, expenseDelta, countDelta) > 0) {
+            return;
+        }
+        jdbcTemplate.update(INCREMENT_SQL, incrementArgs);
+    }
+
+    // Primary-key lookup; users that never wrote a transaction have no row yet
+    public Totals findTotals(Long userId) {
+        return jdbcTemplate.query(FIND_SQL,
+                        (rs, rowNum) -> new Totals(
+                                rs.getBigDecimal("total_income"),
+                                rs.getBigDecimal("total_expense"),
+                                rs.getLong("transaction_count")),
+                        userId).stream()
+                .findFirst()
+                .orElseGet(Totals::empty);
+    }
+
+    // Users with afterUserId < id <= lastUserId whose row is missing or disagrees with their
+    // transactions. Runs without locks, so in-flight writes can show up as false positives.
+    public List<Long> findDrifted(long afterUserId, long lastUserId) {
+        return jdbcTemplate.queryForList(FIND_DRIFTED_SQL, Long.class,
+                afterUserId, lastUserId, afterUserId, lastUserId);
+    }
+
+    // Must run in a transaction. The row is locked in its own statement first, so the recompute
+    // statement starts after any concurrent writer of this user has committed and sees its rows.
+    public void recompute(Long userId) {
+        jdbcTemplate.update(INSERT_SQL, userId, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        jdbcTemplate.queryForList(LOCK_SQL, Long.class, userId);
+        jdbcTemplate.update(RECOMPUTE_SQL, userId, userId, userId, userId);
+    }
+}
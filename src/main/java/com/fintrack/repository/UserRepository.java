@@ -1,9 +1,14 @@
 package com.fintrack.repository;
 
 import com.fintrack.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +17,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findDataVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :id")
+    int incrementDataVersion(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
 
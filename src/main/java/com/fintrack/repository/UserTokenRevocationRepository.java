@@ -0,0 +1,20 @@
+package com.fintrack.repository;
+
+import com.fintrack.model.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    @Query("SELECT r FROM UserTokenRevocation r WHERE r.notBefore > :cutoff")
+    List<UserTokenRevocation> findActive(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT r FROM UserTokenRevocation r WHERE r.updatedAt >= :since")
+    List<UserTokenRevocation> findUpdatedSince(@Param("since") LocalDateTime since);
+}
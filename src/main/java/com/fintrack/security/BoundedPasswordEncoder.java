@@ -0,0 +1,96 @@
+package com.fintrack.security;
+
+import com.fintrack.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs password hashing on a dedicated, bounded pool so a login storm cannot occupy every request
+// thread. Work beyond the queue limit is rejected immediately with a 503 instead of piling up.
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String BUSY_MESSAGE = "Authentication service is busy, please retry shortly";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeoutMs);
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.function.Supplier;
+
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    private User user;
+
+    public User getUser(Supplier<User> loader) {
+        if (user == null) {
+            user = loader.get();
+        }
+        return user;
+    }
+}
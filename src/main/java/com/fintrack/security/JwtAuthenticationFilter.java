@@ -1,5 +1,6 @@
 package com.fintrack.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +17,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -24,6 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -32,10 +35,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.resolveClaims(jwt) : Optional.empty();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Checked on every request, including verification cache hits
+            if (claims.isPresent() && revocationRegistry.isRevoked(claims.get())) {
+                log.debug("Rejected revoked JWT token for user: {}", claims.get().getSubject());
+                claims = Optional.empty();
+            }
+
+            if (claims.isPresent()) {
+                String username = claims.get().getSubject();
+
+                // Legacy tokens without id/role claims still need a lookup until they expire
+                UserDetails userDetails = tokenProvider.getPrincipalFromClaims(claims.get())
+                        .map(UserDetails.class::cast)
+                        .orElseGet(() -> userDetailsService.loadUserByUsername(username));
                 UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
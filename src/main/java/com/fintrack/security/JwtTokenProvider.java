@@ -1,17 +1,25 @@
 package com.fintrack.security;
 
+import com.fintrack.model.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,47 +32,73 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+
+    @Value("${jwt.verification-cache.ttl:300000}")
+    private long verificationCacheTtlMs;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(new TokenExpiry(TimeUnit.MILLISECONDS.toNanos(verificationCacheTtlMs)))
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
+
+    public String generateToken(UserPrincipal principal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        String authorities = userDetails.getAuthorities().stream()
+        String authorities = principal.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
         return Jwts.builder()
-                .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
+                .subject(principal.getUsername())
+                .claim(SecurityConstants.USER_ID_KEY, principal.getId())
+                .claim(SecurityConstants.ROLE_KEY, principal.getRole().name())
                 .claim(SecurityConstants.AUTHORITIES_KEY, authorities)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Parses and verifies the token once; verified tokens are remembered until they expire
+    // (capped by the cache TTL), so bursts with the same bearer token skip the HMAC check
+    public Optional<Claims> resolveClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
 
-        return claims.getSubject();
-    }
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(token);
+            log.error("Expired JWT token");
+            return Optional.empty();
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -76,7 +110,58 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
     }
-}
 
+    // Builds the authenticated principal straight from verified claims, without a user lookup.
+    // Tokens issued before the id/role claims existed yield an empty result.
+    public Optional<UserPrincipal> getPrincipalFromClaims(Claims claims) {
+        Long userId = claims.get(SecurityConstants.USER_ID_KEY, Long.class);
+        String role = claims.get(SecurityConstants.ROLE_KEY, String.class);
+        if (userId == null || role == null) {
+            return Optional.empty();
+        }
+        Date expiration = claims.getExpiration();
+        return Optional.of(new UserPrincipal(userId, claims.getSubject(), null, UserRole.valueOf(role),
+                claims.getId(), expiration != null ? expiration.toInstant() : null));
+    }
+
+    public String getUsernameFromToken(String token) {
+        return resolveClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String token) {
+        return resolveClaims(token).isPresent();
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    // Keeps a verified token no longer than its own exp claim, capped by the configured TTL
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(remainingNanos, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -5,6 +5,8 @@ public class SecurityConstants {
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final String HEADER_STRING = "Authorization";
     public static final String AUTHORITIES_KEY = "authorities";
+    public static final String USER_ID_KEY = "uid";
+    public static final String ROLE_KEY = "role";
     
     private SecurityConstants() {
         // Private constructor to prevent instantiation
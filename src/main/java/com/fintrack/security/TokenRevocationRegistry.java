@@ -0,0 +1,115 @@
+package com.fintrack.security;
+
+import com.fintrack.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory view of revoked access tokens. Lookups are lock-free: a Bloom filter answers the
+// common "not revoked" case and only possible hits are confirmed against the exact set.
+// Revocations are keyed by token id (jti) or by a per-user not-before instant.
+@Component
+public class TokenRevocationRegistry {
+
+    private final int minimumCapacity;
+    private final double falsePositiveRate;
+
+    // Readers take one snapshot per lookup; a full reload builds a new one and swaps it in, so
+    // lookups never see a half-filled state. Writers serialize on the registry's monitor.
+    private volatile State state;
+
+    // Revocations applied while a reload is reading the database, replayed onto its result
+    private Map<String, Long> pendingTokens;
+    private Map<Long, Long> pendingNotBefores;
+
+    private record State(Map<String, Long> revokedTokens, Map<Long, Long> notBeforeByUser, BloomFilter filter) {
+    }
+
+    public TokenRevocationRegistry(@Value("${security.revocation.bloom-capacity:100000}") int minimumCapacity,
+                                   @Value("${security.revocation.bloom-fpp:0.001}") double falsePositiveRate) {
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = new State(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                new BloomFilter(minimumCapacity, falsePositiveRate));
+    }
+
+    // Cut-off of a revoke-all made at the given instant. The iat claim only has whole seconds, so
+    // a token issued earlier in the same second reads as issued at its start; rounding up to the
+    // next second revokes it too, at the cost of also revoking tokens issued later that second.
+    public static Instant notBefore(Instant revokedAt) {
+        return revokedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims.getId(), claims.get(SecurityConstants.USER_ID_KEY, Long.class), claims.getIssuedAt());
+    }
+
+    public boolean isRevoked(String tokenId, Long userId, Date issuedAt) {
+        State current = state;
+        if (tokenId != null && current.filter().mightContain(tokenId) && current.revokedTokens().containsKey(tokenId)) {
+            return true;
+        }
+        if (userId == null || issuedAt == null || current.notBeforeByUser().isEmpty()) {
+            return false;
+        }
+        Long notBefore = current.notBeforeByUser().get(userId);
+        return notBefore != null && issuedAt.getTime() < notBefore;
+    }
+
+    public synchronized void revokeToken(String tokenId, long expiresAtMs) {
+        if (pendingTokens != null) {
+            pendingTokens.put(tokenId, expiresAtMs);
+        }
+        State current = state;
+        current.revokedTokens().put(tokenId, expiresAtMs);
+        if (current.revokedTokens().size() > current.filter().getCapacity()) {
+            state = new State(current.revokedTokens(), current.notBeforeByUser(), buildFilter(current.revokedTokens()));
+        } else {
+            current.filter().put(tokenId);
+        }
+    }
+
+    public synchronized void revokeAllBefore(Long userId, long notBeforeMs) {
+        if (pendingNotBefores != null) {
+            pendingNotBefores.merge(userId, notBeforeMs, Math::max);
+        }
+        state.notBeforeByUser().merge(userId, notBeforeMs, Math::max);
+    }
+
+    // Called before a reload reads the database, so revocations committed while it runs are kept
+    public synchronized void beginReload() {
+        pendingTokens = new HashMap<>();
+        pendingNotBefores = new HashMap<>();
+    }
+
+    // Replaces the whole state, dropping entries that can no longer match a live token
+    public synchronized void replaceAll(Map<String, Long> tokens, Map<Long, Long> notBefores) {
+        Map<String, Long> revokedTokens = new ConcurrentHashMap<>(tokens);
+        Map<Long, Long> notBeforeByUser = new ConcurrentHashMap<>(notBefores);
+        if (pendingTokens != null) {
+            revokedTokens.putAll(pendingTokens);
+            pendingNotBefores.forEach((userId, notBefore) -> notBeforeByUser.merge(userId, notBefore, Math::max));
+            pendingTokens = null;
+            pendingNotBefores = null;
+        }
+        state = new State(revokedTokens, notBeforeByUser, buildFilter(revokedTokens));
+    }
+
+    public int size() {
+        State current = state;
+        return current.revokedTokens().size() + current.notBeforeByUser().size();
+    }
+
+    private BloomFilter buildFilter(Map<String, Long> revokedTokens) {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minimumCapacity, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import com.fintrack.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final UserCacheInvalidationNotifier invalidationNotifier;
+    private final Cache<String, User> usersByEmail;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     UserCacheInvalidationNotifier invalidationNotifier,
+                     MeterRegistry meterRegistry,
+                     @Value("${security.user-cache.max-size:10000}") long maxSize,
+                     @Value("${security.user-cache.ttl:600000}") long ttlMs) {
+        this(userRepository, invalidationNotifier, meterRegistry, maxSize, ttlMs,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    // Tests pass a fake ticker and a same-thread executor so expiry and size eviction are deterministic
+    UserCache(UserRepository userRepository,
+              UserCacheInvalidationNotifier invalidationNotifier,
+              MeterRegistry meterRegistry,
+              long maxSize,
+              long ttlMs,
+              Ticker ticker,
+              Executor executor) {
+        this.userRepository = userRepository;
+        this.invalidationNotifier = invalidationNotifier;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users");
+    }
+
+    // Entities are copied in and out so callers never share a mutable instance
+    public Optional<User> findByEmail(String email) {
+        User cached = usersByEmail.get(email, key -> userRepository.findByEmail(key)
+                .map(UserCache::copyOf)
+                .orElse(null));
+        return Optional.ofNullable(cached).map(UserCache::copyOf);
+    }
+
+    public void evict(String email) {
+        evictLocal(email);
+        invalidationNotifier.userInvalidated(email);
+    }
+
+    public void evictLocal(String email) {
+        log.debug("Evicting cached user: {}", email);
+        usersByEmail.invalidate(email);
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Evicts a user from UserCache whenever the entity is updated (role, password, ...) or removed.
+// Eviction waits for the commit so a concurrent reader cannot re-cache the old row.
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    public UserCacheEvictionListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String email = user.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCache.getObject().evict(email);
+                }
+            });
+        } else {
+            userCache.getObject().evict(email);
+        }
+    }
+}
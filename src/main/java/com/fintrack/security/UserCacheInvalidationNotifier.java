@@ -0,0 +1,8 @@
+package com.fintrack.security;
+
+// Propagates user cache invalidations to other nodes. Implementations deliver the email to every
+// other instance, which should then call UserCache.evictLocal(email).
+public interface UserCacheInvalidationNotifier {
+
+    void userInvalidated(String email);
+}
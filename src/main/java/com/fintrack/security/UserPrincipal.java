@@ -0,0 +1,69 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import com.fintrack.model.enums.UserRole;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final UserRole role;
+    private final Collection<? extends GrantedAuthority> authorities;
+    // Set only when authenticated from an access token (jti and exp claims)
+    private final String tokenId;
+    private final Instant tokenExpiresAt;
+
+    public UserPrincipal(Long id, String email, String password, UserRole role) {
+        this(id, email, password, role, null, null);
+    }
+
+    public UserPrincipal(Long id, String email, String password, UserRole role,
+                         String tokenId, Instant tokenExpiresAt) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        this.tokenId = tokenId;
+        this.tokenExpiresAt = tokenExpiresAt;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
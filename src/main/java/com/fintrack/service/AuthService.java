@@ -1,24 +1,27 @@
 package com.fintrack.service;
 
 import com.fintrack.dto.request.LoginRequest;
+import com.fintrack.dto.request.LogoutRequest;
+import com.fintrack.dto.request.RefreshTokenRequest;
 import com.fintrack.dto.request.RegisterRequest;
 import com.fintrack.dto.response.AuthResponse;
 import com.fintrack.dto.response.UserResponse;
 import com.fintrack.exception.BadRequestException;
 import com.fintrack.model.User;
 import com.fintrack.repository.UserRepository;
-import com.fintrack.security.CustomUserDetailsService;
 import com.fintrack.security.JwtTokenProvider;
+import com.fintrack.security.UserCache;
+import com.fintrack.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
@@ -29,13 +32,21 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
-    private final CategoryService categoryService;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserService userService;
+    private final ReportWarmupService reportWarmupService;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    @Transactional
+    private record RegisteredUser(User user, String refreshToken) {
+    }
+
+    // Like login, the password is hashed before any transaction starts, so waiting for the
+    // hashing pool does not hold a pooled connection; only the inserts share a transaction
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
 
@@ -43,26 +54,28 @@ public class AuthService {
             throw new BadRequestException("Email already in use");
         }
 
-        User user = User.builder()
-                .name(request.getName())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .build();
-
-        user = userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+
+        RegisteredUser registered = new TransactionTemplate(transactionManager).execute(status -> {
+            User saved = userRepository.save(User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .build());
+            return new RegisteredUser(saved, refreshTokenService.issue(saved.getId()));
+        });
+        User user = registered.user();
+        String refreshToken = registered.refreshToken();
         log.info("User registered successfully with id: {}", user.getId());
 
-        // Create default categories for the new user
-        categoryService.createDefaultCategories(user);
-
         String token = generateTokenForUser(user);
 
         UserResponse userResponse = mapToUserResponse(user);
 
-        return new AuthResponse(token, jwtExpirationMs, userResponse);
+        return new AuthResponse(token, refreshToken, jwtExpirationMs, userResponse);
     }
 
-    @Transactional(readOnly = true)
+    // No surrounding transaction: password verification must not hold a pooled connection
     public AuthResponse login(LoginRequest request) {
         log.info("User login attempt with email: {}", request.getEmail());
 
@@ -75,22 +88,52 @@ public class AuthService {
 
         String token = tokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> new BadRequestException("User not found"));
 
+        String refreshToken = refreshTokenService.issue(user.getId());
+
         UserResponse userResponse = mapToUserResponse(user);
+        reportWarmupService.warmAsync(UserPrincipal.from(user));
 
         log.info("User logged in successfully: {}", user.getEmail());
 
-        return new AuthResponse(token, jwtExpirationMs, userResponse);
+        return new AuthResponse(token, refreshToken, jwtExpirationMs, userResponse);
+    }
+
+    // Cheap token renewal: no UserDetails load and no password hashing
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotated.user();
+
+        String token = generateTokenForUser(user);
+        log.info("Access token refreshed for user: {}", user.getEmail());
+
+        return new AuthResponse(token, rotated.refreshToken(), jwtExpirationMs, mapToUserResponse(user));
+    }
+
+    public void logout(LogoutRequest request) {
+        UserPrincipal principal = userService.getCurrentPrincipal();
+        tokenRevocationService.revokeToken(principal);
+
+        if (request != null && request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revoke(request.getRefreshToken(), principal.getId());
+        }
+        log.info("User logged out: {}", principal.getEmail());
+    }
+
+    public void logoutAll() {
+        UserPrincipal principal = userService.getCurrentPrincipal();
+        tokenRevocationService.revokeAllSessions(principal.getId());
+        log.info("User logged out from all sessions: {}", principal.getEmail());
     }
 
     private String generateTokenForUser(User user) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+        UserPrincipal principal = UserPrincipal.from(user);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                userDetails,
+                principal,
                 null,
-                userDetails.getAuthorities()
+                principal.getAuthorities()
         );
         return tokenProvider.generateToken(authentication);
     }
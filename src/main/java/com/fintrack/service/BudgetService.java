@@ -1,6 +1,7 @@
 package com.fintrack.service;
 
 import com.fintrack.dto.request.BudgetRequest;
+import com.fintrack.dto.response.BudgetHistoryResponse;
 import com.fintrack.dto.response.BudgetProgressResponse;
 import com.fintrack.dto.response.BudgetResponse;
 import com.fintrack.dto.response.CategoryResponse;
@@ -8,22 +9,23 @@ import com.fintrack.exception.BadRequestException;
 import com.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.model.Budget;
 import com.fintrack.model.Category;
-import com.fintrack.model.User;
 import com.fintrack.model.enums.BudgetPeriod;
 import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.BudgetProgressRepository;
+import com.fintrack.repository.BudgetProgressRepository.BudgetHistory;
 import com.fintrack.repository.BudgetRepository;
-import com.fintrack.repository.CategoryRepository;
-import com.fintrack.repository.TransactionRepository;
+import com.fintrack.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,14 +34,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BudgetService {
 
+    private static final int MAX_HISTORY_PERIODS = 60;
+
     private final BudgetRepository budgetRepository;
-    private final CategoryRepository categoryRepository;
-    private final TransactionRepository transactionRepository;
+    private final CategoryService categoryService;
+    private final BudgetTrackerService budgetTrackerService;
+    private final BudgetProgressRepository budgetProgressRepository;
     private final UserService userService;
+    private final UserDataVersionService userDataVersionService;
 
     @Transactional(readOnly = true)
     public List<BudgetResponse> getAllBudgets(BudgetPeriod period) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting all budgets for user: {}", currentUser.getEmail());
 
         List<Budget> budgets;
@@ -56,7 +62,7 @@ public class BudgetService {
 
     @Transactional(readOnly = true)
     public BudgetResponse getBudgetById(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting budget {} for user: {}", id, currentUser.getEmail());
 
         Budget budget = budgetRepository.findByIdAndUserId(id, currentUser.getId())
@@ -67,10 +73,10 @@ public class BudgetService {
 
     @Transactional
     public BudgetResponse createBudget(BudgetRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Creating budget for user: {}", currentUser.getEmail());
 
-        Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), currentUser.getId())
+        Category category = categoryService.findAccessibleCategory(request.getCategoryId(), currentUser.getId())
                 .orElseThrow(() -> new BadRequestException("Category not found or does not belong to user"));
 
         // Validate that category is EXPENSE type
@@ -90,7 +96,7 @@ public class BudgetService {
         }
 
         Budget budget = Budget.builder()
-                .user(currentUser)
+                .user(userService.getCurrentUserReference())
                 .category(category)
                 .amount(request.getAmount())
                 .period(request.getPeriod())
@@ -99,6 +105,7 @@ public class BudgetService {
                 .build();
 
         budget = budgetRepository.save(budget);
+        userDataVersionService.recordWrite(currentUser.getId());
         log.info("Budget created with id: {}", budget.getId());
 
         return mapToBudgetResponse(budget);
@@ -106,13 +113,13 @@ public class BudgetService {
 
     @Transactional
     public BudgetResponse updateBudget(Long id, BudgetRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Updating budget {} for user: {}", id, currentUser.getEmail());
 
         Budget budget = budgetRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
 
-        Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), currentUser.getId())
+        Category category = categoryService.findAccessibleCategory(request.getCategoryId(), currentUser.getId())
                 .orElseThrow(() -> new BadRequestException("Category not found or does not belong to user"));
 
         // Validate that category is EXPENSE type
@@ -141,6 +148,7 @@ public class BudgetService {
         budget.setEndDate(request.getEndDate());
 
         budget = budgetRepository.save(budget);
+        userDataVersionService.recordWrite(currentUser.getId());
         log.info("Budget updated: {}", budget.getId());
 
         return mapToBudgetResponse(budget);
@@ -148,93 +156,106 @@ public class BudgetService {
 
     @Transactional
     public void deleteBudget(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Deleting budget {} for user: {}", id, currentUser.getEmail());
 
         Budget budget = budgetRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found"));
 
         budgetRepository.delete(budget);
+        userDataVersionService.recordWrite(currentUser.getId());
         log.info("Budget deleted: {}", id);
     }
 
-    @Transactional(readOnly = true)
+    // Served from the in-memory tracker, which seeds the user's budgets on first use
     public List<BudgetProgressResponse> getBudgetProgress() {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting budget progress for user: {}", currentUser.getEmail());
 
-        List<Budget> budgets = budgetRepository.findByUserId(currentUser.getId());
-
-        return budgets.stream()
-                .map(this::calculateBudgetProgress)
-                .collect(Collectors.toList());
+        return budgetTrackerService.getProgress(currentUser.getId());
     }
 
-    private BudgetProgressResponse calculateBudgetProgress(Budget budget) {
-        LocalDate now = LocalDate.now();
-        
-        // Determine period dates
-        LocalDate periodStart;
-        LocalDate periodEnd;
-
-        switch (budget.getPeriod()) {
-            case WEEKLY:
-                periodStart = now.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-                periodEnd = now.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
-                break;
-            case MONTHLY:
-                periodStart = now.with(TemporalAdjusters.firstDayOfMonth());
-                periodEnd = now.with(TemporalAdjusters.lastDayOfMonth());
-                break;
-            case YEARLY:
-                periodStart = now.with(TemporalAdjusters.firstDayOfYear());
-                periodEnd = now.with(TemporalAdjusters.lastDayOfYear());
-                break;
-            default:
-                throw new IllegalStateException("Unknown budget period: " + budget.getPeriod());
+    // Budget vs. actual over the last n periods of every budget, each in its own period unit,
+    // from a single query; periods outside a budget's validity are left out
+    @Transactional(readOnly = true)
+    public List<BudgetHistoryResponse> getBudgetHistory(int periods) {
+        if (periods < 1 || periods > MAX_HISTORY_PERIODS) {
+            throw new BadRequestException("Budget history is limited to 1-" + MAX_HISTORY_PERIODS + " periods");
         }
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+        log.info("Getting budget history of {} periods for user: {}", periods, currentUser.getEmail());
 
-        // Get spent amount for the period and category
-        BigDecimal categorySpent = transactionRepository.sumByUserAndCategoryAndTypeAndDateBetween(
-                budget.getUser().getId(),
-                budget.getCategory().getId(),
-                TransactionType.EXPENSE,
-                periodStart,
-                periodEnd
-        );
-
-        BigDecimal remainingAmount = budget.getAmount().subtract(categorySpent);
-        
-        Double percentageUsed = budget.getAmount().compareTo(BigDecimal.ZERO) > 0
-                ? categorySpent.divide(budget.getAmount(), 4, RoundingMode.HALF_UP)
-                        .multiply(BigDecimal.valueOf(100))
-                        .doubleValue()
-                : 0.0;
-
-        BudgetProgressResponse.BudgetStatus status;
-        if (percentageUsed >= 100) {
-            status = BudgetProgressResponse.BudgetStatus.EXCEEDED;
-        } else if (percentageUsed >= 80) {
-            status = BudgetProgressResponse.BudgetStatus.WARNING;
-        } else {
-            status = BudgetProgressResponse.BudgetStatus.OK;
+        LocalDate now = LocalDate.now();
+        LocalDate currentWeek = periodStart(BudgetPeriod.WEEKLY, now);
+        List<BudgetHistory> histories = budgetProgressRepository.findHistory(currentUser.getId(),
+                currentWeek.minusWeeks(periods - 1), currentWeek.plusDays(6),
+                YearMonth.from(now).minusMonths(periods - 1), YearMonth.from(now),
+                now.getYear() - periods + 1, now.getYear());
+
+        return histories.stream()
+                .map(history -> mapToBudgetHistoryResponse(history, periods, now))
+                .collect(Collectors.toList());
+    }
+
+    private BudgetHistoryResponse mapToBudgetHistoryResponse(BudgetHistory history, int periods, LocalDate now) {
+        List<BudgetHistoryResponse.PeriodEntry> entries = new ArrayList<>(periods);
+        LocalDate periodStart = nextPeriodStart(history.period(), periodStart(history.period(), now), -(periods - 1));
+        for (int i = 0; i < periods; i++) {
+            LocalDate periodEnd = nextPeriodStart(history.period(), periodStart, 1).minusDays(1);
+            boolean valid = !periodEnd.isBefore(history.startDate())
+                    && (history.endDate() == null || !periodStart.isAfter(history.endDate()));
+            if (valid) {
+                BigDecimal spent = history.spentByPeriod().getOrDefault(periodStart, BigDecimal.ZERO);
+                double percentageUsed = BudgetTrackerService.percentageUsed(spent, history.amount());
+                entries.add(BudgetHistoryResponse.PeriodEntry.builder()
+                        .periodStart(periodStart)
+                        .periodEnd(periodEnd)
+                        .spentAmount(spent)
+                        .remainingAmount(history.amount().subtract(spent))
+                        .percentageUsed(Math.round(percentageUsed * 10.0) / 10.0)
+                        .status(BudgetProgressResponse.BudgetStatus.of(percentageUsed))
+                        .build());
+            }
+            periodStart = nextPeriodStart(history.period(), periodStart, 1);
         }
 
-        return BudgetProgressResponse.builder()
-                .budgetId(budget.getId())
-                .categoryName(budget.getCategory().getName())
-                .categoryColor(budget.getCategory().getColor())
-                .budgetAmount(budget.getAmount())
-                .spentAmount(categorySpent)
-                .remainingAmount(remainingAmount)
-                .percentageUsed(Math.round(percentageUsed * 10.0) / 10.0)
-                .status(status)
-                .period(budget.getPeriod())
-                .startDate(budget.getStartDate())
-                .endDate(budget.getEndDate())
+        int exceeded = (int) entries.stream()
+                .filter(entry -> entry.getStatus() == BudgetProgressResponse.BudgetStatus.EXCEEDED)
+                .count();
+        Double adherenceRate = entries.isEmpty()
+                ? null
+                : Math.round((entries.size() - exceeded) * 1000.0 / entries.size()) / 10.0;
+
+        return BudgetHistoryResponse.builder()
+                .budgetId(history.budgetId())
+                .categoryName(history.categoryName())
+                .categoryColor(history.categoryColor())
+                .budgetAmount(history.amount())
+                .period(history.period())
+                .startDate(history.startDate())
+                .endDate(history.endDate())
+                .periodsExceeded(exceeded)
+                .adherenceRate(adherenceRate)
+                .periods(entries)
                 .build();
     }
 
+    private static LocalDate periodStart(BudgetPeriod period, LocalDate day) {
+        return switch (period) {
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> day.with(TemporalAdjusters.firstDayOfMonth());
+            case YEARLY -> day.with(TemporalAdjusters.firstDayOfYear());
+        };
+    }
+
+    private static LocalDate nextPeriodStart(BudgetPeriod period, LocalDate periodStart, int periods) {
+        return switch (period) {
+            case WEEKLY -> periodStart.plusWeeks(periods);
+            case MONTHLY -> periodStart.plusMonths(periods);
+            case YEARLY -> periodStart.plusYears(periods);
+        };
+    }
+
     private BudgetResponse mapToBudgetResponse(Budget budget) {
         CategoryResponse categoryResponse = CategoryResponse.builder()
                 .id(budget.getCategory().getId())
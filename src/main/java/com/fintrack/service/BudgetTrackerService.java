@@ -0,0 +1,498 @@
+package com.fintrack.service;
+
+import com.fintrack.dto.response.BudgetProgressResponse;
+import com.fintrack.dto.response.BudgetProgressResponse.BudgetStatus;
+import com.fintrack.event.BudgetStatusChangedEvent;
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.event.UserDataChangedEvent;
+import com.fintrack.model.enums.BudgetPeriod;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.BudgetProgressRepository;
+import com.fintrack.repository.BudgetProgressRepository.BudgetSpending;
+import com.fintrack.repository.TransactionAggregateRepository;
+import com.fintrack.util.BudgetForecaster;
+import com.fintrack.util.BudgetForecaster.Forecast;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps the spending of every user's budgets over the current period in memory, along with the
+// daily totals the forecast is projected from. A user's budgets are seeded from the database on
+// the first read and then updated in place by each committed transaction write, so progress is a
+// memory read and status changes are published as they happen. Category and budget writes, period
+// boundaries and the ttl (which also bounds how long writes made on other nodes go unseen) drop the
+// tracked budgets, and the next read reseeds them. Users with an open live connection are watched:
+// their budgets are reseeded instead of dropped, so no status change goes unpublished.
+@Slf4j
+@Service
+public class BudgetTrackerService {
+
+    private final BudgetProgressRepository budgetProgressRepository;
+    private final TransactionAggregateRepository transactionAggregateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long ttlMs;
+    private final Map<Long, Tracking> trackings = new ConcurrentHashMap<>();
+
+    private record Periods(LocalDate weekStart, LocalDate weekEnd, LocalDate monthStart, LocalDate yearStart) {
+
+        static Periods of(LocalDate day) {
+            return new Periods(
+                    day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    day.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)),
+                    day.with(TemporalAdjusters.firstDayOfMonth()),
+                    day.with(TemporalAdjusters.firstDayOfYear()));
+        }
+
+        LocalDate start(BudgetPeriod period) {
+            return switch (period) {
+                case WEEKLY -> weekStart;
+                case MONTHLY -> monthStart;
+                case YEARLY -> yearStart;
+            };
+        }
+
+        LocalDate previousStart(BudgetPeriod period) {
+            return switch (period) {
+                case WEEKLY -> weekStart.minusWeeks(1);
+                case MONTHLY -> monthStart.minusMonths(1);
+                case YEARLY -> yearStart.minusYears(1);
+            };
+        }
+
+        LocalDate end(BudgetPeriod period) {
+            return switch (period) {
+                case WEEKLY -> weekEnd;
+                case MONTHLY -> monthStart.plusMonths(1).minusDays(1);
+                case YEARLY -> yearStart.plusYears(1).minusDays(1);
+            };
+        }
+
+        boolean contains(BudgetSpending budget, LocalDate date) {
+            return !date.isBefore(start(budget.period())) && !date.isAfter(end(budget.period()));
+        }
+    }
+
+    // Daily expense totals of the budget's category over its current and previous period, one
+    // slot per day from the period start, kept as primitives for the forecast
+    private record TrackedBudget(BudgetSpending spending, double[] currentDays, double[] previousDays) {
+
+        static TrackedBudget of(BudgetSpending spending, Periods periods) {
+            LocalDate start = periods.start(spending.period());
+            LocalDate previousStart = periods.previousStart(spending.period());
+            return new TrackedBudget(spending,
+                    new double[(int) ChronoUnit.DAYS.between(start, periods.end(spending.period())) + 1],
+                    new double[(int) ChronoUnit.DAYS.between(previousStart, start)]);
+        }
+
+        // Adds in place; only used on copies that are not visible to readers yet
+        void addToDay(Periods periods, LocalDate date, double amount) {
+            int day = (int) ChronoUnit.DAYS.between(periods.start(spending.period()), date);
+            if (day >= 0 && day < currentDays.length) {
+                currentDays[day] += amount;
+                return;
+            }
+            int previousDay = (int) ChronoUnit.DAYS.between(periods.previousStart(spending.period()), date);
+            if (previousDay >= 0 && previousDay < previousDays.length) {
+                previousDays[previousDay] += amount;
+            }
+        }
+    }
+
+    private record TrackedBudgets(Periods periods, long seededAt, List<TrackedBudget> budgets) {
+    }
+
+    // Per-user state. The counters are only touched inside the map's per-key compute, so a seed
+    // can tell whether any write of the user was in flight or completed while it queried.
+    private static final class Tracking {
+        private int writesInFlight;
+        private long completedWrites;
+        private int watchers;
+        private volatile TrackedBudgets budgets;
+    }
+
+    private record SeedStamp(Tracking tracking, long completedWrites) {
+    }
+
+    public BudgetTrackerService(BudgetProgressRepository budgetProgressRepository,
+                                TransactionAggregateRepository transactionAggregateRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${budgets.tracker.ttl:900000}") long ttlMs) {
+        this.budgetProgressRepository = budgetProgressRepository;
+        this.transactionAggregateRepository = transactionAggregateRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.ttlMs = ttlMs;
+    }
+
+    public List<BudgetProgressResponse> getProgress(Long userId) {
+        LocalDate today = LocalDate.now();
+        Periods periods = Periods.of(today);
+        Tracking tracking = trackings.get(userId);
+        TrackedBudgets tracked = tracking != null ? tracking.budgets : null;
+        if (tracked == null || !isCurrent(tracked, periods, System.currentTimeMillis())) {
+            tracked = seed(userId, periods, 0);
+        }
+        return tracked.budgets().stream()
+                .map(budget -> toProgress(budget, periods, today))
+                .toList();
+    }
+
+    // Keeps the user's budgets tracked until the matching unwatch, seeding them if needed
+    public void watch(Long userId) {
+        boolean[] unseeded = new boolean[1];
+        trackings.compute(userId, (id, tracking) -> {
+            Tracking current = tracking != null ? tracking : new Tracking();
+            current.watchers++;
+            unseeded[0] = current.budgets == null;
+            return current;
+        });
+        if (unseeded[0]) {
+            try {
+                seed(userId, Periods.of(LocalDate.now()), 0);
+            } catch (RuntimeException ex) {
+                unwatch(userId);
+                throw ex;
+            }
+        }
+    }
+
+    public void unwatch(Long userId) {
+        trackings.computeIfPresent(userId, (id, tracking) -> {
+            tracking.watchers--;
+            return tracking;
+        });
+    }
+
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Outside a transaction the change is already committed
+            applyCommitted(event.userId(), List.of(event), false, 0);
+            return;
+        }
+        pendingWrites(event.userId()).transactionChanges.add(event);
+    }
+
+    // Every transaction, category and budget write of a user bumps the data version. Versions
+    // bumped for something other than a transaction mean the tracked budgets are stale.
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingWrites(event.userId()).dataChanges++;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${budgets.tracker.ttl:900000}",
+               initialDelayString = "${budgets.tracker.ttl:900000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        Periods periods = Periods.of(LocalDate.now());
+        List<Long> watched = new ArrayList<>();
+        trackings.keySet().forEach(userId -> trackings.computeIfPresent(userId, (id, tracking) -> {
+            boolean expired = tracking.budgets == null || !isCurrent(tracking.budgets, periods, now);
+            if (tracking.watchers > 0) {
+                if (expired) {
+                    watched.add(id);
+                }
+                return tracking;
+            }
+            return tracking.writesInFlight == 0 && expired ? null : tracking;
+        }));
+
+        for (Long userId : watched) {
+            try {
+                seed(userId, periods, 0);
+            } catch (RuntimeException ex) {
+                // Retried on the next run; until then the next write reseeds
+                log.warn("Could not reseed the budgets of watched user {}", userId, ex);
+            }
+        }
+    }
+
+    // Installs the seeded budgets only if no write of the user other than the caller's own ones
+    // was in flight when the queries started and none completed while they ran; otherwise the
+    // result is served once and dropped
+    private TrackedBudgets seed(Long userId, Periods periods, int ownWrites) {
+        SeedStamp stamp = beginSeed(userId, ownWrites);
+        List<TrackedBudget> budgets = budgetProgressRepository.findSpending(userId, periods.weekStart(),
+                        periods.weekEnd(), periods.monthStart(), periods.yearStart()).stream()
+                .map(spending -> TrackedBudget.of(spending, periods))
+                .toList();
+        loadDailyTotals(userId, periods, budgets);
+        TrackedBudgets seeded = new TrackedBudgets(periods, System.currentTimeMillis(), budgets);
+
+        if (stamp != null) {
+            trackings.computeIfPresent(userId, (id, tracking) -> {
+                if (tracking == stamp.tracking()
+                        && tracking.writesInFlight == ownWrites
+                        && tracking.completedWrites == stamp.completedWrites()) {
+                    tracking.budgets = seeded;
+                }
+                return tracking;
+            });
+        }
+        return seeded;
+    }
+
+    // One grouped query over the previous and current periods of all the user's budgets
+    private void loadDailyTotals(Long userId, Periods periods, List<TrackedBudget> budgets) {
+        if (budgets.isEmpty()) {
+            return;
+        }
+        Map<Long, List<TrackedBudget>> budgetsByCategory = new HashMap<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (TrackedBudget budget : budgets) {
+            budgetsByCategory.computeIfAbsent(budget.spending().categoryId(), id -> new ArrayList<>()).add(budget);
+            LocalDate previousStart = periods.previousStart(budget.spending().period());
+            LocalDate end = periods.end(budget.spending().period());
+            from = from == null || previousStart.isBefore(from) ? previousStart : from;
+            to = to == null || end.isAfter(to) ? end : to;
+        }
+
+        transactionAggregateRepository.streamDailyTotals(userId, from, to, TransactionType.EXPENSE, null, true,
+                totals -> {
+                    List<TrackedBudget> categoryBudgets = budgetsByCategory.get(totals.categoryId());
+                    if (categoryBudgets != null) {
+                        double expense = totals.expense().doubleValue();
+                        categoryBudgets.forEach(budget -> budget.addToDay(periods, totals.date(), expense));
+                    }
+                });
+    }
+
+    private SeedStamp beginSeed(Long userId, int ownWrites) {
+        SeedStamp[] stamp = new SeedStamp[1];
+        trackings.compute(userId, (id, tracking) -> {
+            Tracking current = tracking != null ? tracking : new Tracking();
+            stamp[0] = current.writesInFlight == ownWrites
+                    ? new SeedStamp(current, current.completedWrites)
+                    : null;
+            return current;
+        });
+        return stamp[0];
+    }
+
+    private PendingWrites pendingWrites(Long userId) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingWrites pending && pending.userId.equals(userId)) {
+                return pending;
+            }
+        }
+        trackings.compute(userId, (id, tracking) -> {
+            Tracking current = tracking != null ? tracking : new Tracking();
+            current.writesInFlight++;
+            return current;
+        });
+        PendingWrites pending = new PendingWrites(userId);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    // ownWrites is the number of in-flight writes the caller itself accounts for
+    private void applyCommitted(Long userId, List<TransactionChangedEvent> changes, boolean stale, int ownWrites) {
+        List<BudgetStatusChangedEvent> statusChanges = new ArrayList<>();
+        Periods periods = Periods.of(LocalDate.now());
+        boolean[] reseed = new boolean[1];
+        trackings.computeIfPresent(userId, (id, tracking) -> {
+            TrackedBudgets tracked = tracking.budgets;
+            if (tracked != null && !stale && tracked.periods().equals(periods)) {
+                tracking.budgets = apply(userId, tracked, changes, statusChanges);
+            } else {
+                tracking.budgets = null;
+                reseed[0] = tracking.watchers > 0;
+            }
+            return tracking;
+        });
+
+        if (reseed[0]) {
+            // Nothing tracked to compare with, so the statuses before the write are derived from
+            // the reseeded spending, which already includes it, minus the committed deltas
+            for (TrackedBudget budget : seed(userId, periods, ownWrites).budgets()) {
+                BudgetSpending spending = budget.spending();
+                BigDecimal delta = periodDelta(spending, periods, changes);
+                if (delta.signum() != 0) {
+                    addStatusChange(statusChanges, userId, spending, spending.spent().subtract(delta),
+                            spending.spent());
+                }
+            }
+        }
+
+        for (BudgetStatusChangedEvent statusChange : statusChanges) {
+            meterRegistry.counter("budgets.status.changes", "status", statusChange.status().name()).increment();
+            log.info("Budget {} of user {} moved from {} to {}", statusChange.budgetId(), userId,
+                    statusChange.previousStatus(), statusChange.status());
+            eventPublisher.publishEvent(statusChange);
+        }
+    }
+
+    private void completeWrite(Long userId) {
+        trackings.computeIfPresent(userId, (id, tracking) -> {
+            tracking.writesInFlight--;
+            tracking.completedWrites++;
+            return tracking.writesInFlight == 0 && tracking.watchers == 0 && tracking.budgets == null
+                    ? null
+                    : tracking;
+        });
+    }
+
+    // Copy-on-write, so readers never see a budget half updated
+    private static TrackedBudgets apply(Long userId, TrackedBudgets tracked, List<TransactionChangedEvent> changes,
+                                        List<BudgetStatusChangedEvent> statusChanges) {
+        Periods periods = tracked.periods();
+        List<TrackedBudget> budgets = new ArrayList<>(tracked.budgets().size());
+        for (TrackedBudget budget : tracked.budgets()) {
+            BudgetSpending spending = budget.spending();
+            boolean affected = changes.stream().anyMatch(change ->
+                    isCategoryExpense(spending, change.before()) || isCategoryExpense(spending, change.after()));
+            if (!affected) {
+                budgets.add(budget);
+                continue;
+            }
+
+            TrackedBudget updated = new TrackedBudget(spending, budget.currentDays().clone(),
+                    budget.previousDays().clone());
+            for (TransactionChangedEvent change : changes) {
+                if (isCategoryExpense(spending, change.before())) {
+                    updated.addToDay(periods, change.before().date(), -change.before().amount().doubleValue());
+                }
+                if (isCategoryExpense(spending, change.after())) {
+                    updated.addToDay(periods, change.after().date(), change.after().amount().doubleValue());
+                }
+            }
+            BigDecimal delta = periodDelta(spending, periods, changes);
+            if (delta.signum() == 0) {
+                budgets.add(updated);
+                continue;
+            }
+
+            BudgetSpending updatedSpending = new BudgetSpending(spending.budgetId(), spending.categoryId(),
+                    spending.categoryName(), spending.categoryColor(), spending.amount(), spending.period(),
+                    spending.startDate(), spending.endDate(), spending.spent().add(delta));
+            addStatusChange(statusChanges, userId, spending, spending.spent(), updatedSpending.spent());
+            budgets.add(new TrackedBudget(updatedSpending, updated.currentDays(), updated.previousDays()));
+        }
+        return new TrackedBudgets(periods, tracked.seededAt(), budgets);
+    }
+
+    // Net change of the budget's spending in its current period
+    private static BigDecimal periodDelta(BudgetSpending spending, Periods periods,
+                                          List<TransactionChangedEvent> changes) {
+        BigDecimal delta = BigDecimal.ZERO;
+        for (TransactionChangedEvent change : changes) {
+            if (isCategoryExpense(spending, change.before()) && periods.contains(spending, change.before().date())) {
+                delta = delta.subtract(change.before().amount());
+            }
+            if (isCategoryExpense(spending, change.after()) && periods.contains(spending, change.after().date())) {
+                delta = delta.add(change.after().amount());
+            }
+        }
+        return delta;
+    }
+
+    private static void addStatusChange(List<BudgetStatusChangedEvent> statusChanges, Long userId,
+                                        BudgetSpending spending, BigDecimal previousSpent, BigDecimal spent) {
+        BudgetStatus previousStatus = BudgetStatus.of(percentageUsed(previousSpent, spending.amount()));
+        BudgetStatus status = BudgetStatus.of(percentageUsed(spent, spending.amount()));
+        if (status != previousStatus) {
+            statusChanges.add(new BudgetStatusChangedEvent(userId, spending.budgetId(), spending.categoryName(),
+                    previousStatus, status, spent, spending.amount()));
+        }
+    }
+
+    private static boolean isCategoryExpense(BudgetSpending budget, TransactionChangedEvent.Snapshot snapshot) {
+        return snapshot != null
+                && snapshot.type() == TransactionType.EXPENSE
+                && snapshot.categoryId().equals(budget.categoryId());
+    }
+
+    private boolean isCurrent(TrackedBudgets tracked, Periods periods, long now) {
+        return tracked.periods().equals(periods) && now - tracked.seededAt() < ttlMs;
+    }
+
+    private static double percentageUsed(BudgetSpending budget) {
+        return percentageUsed(budget.spent(), budget.amount());
+    }
+
+    static double percentageUsed(BigDecimal spent, BigDecimal amount) {
+        return amount.compareTo(BigDecimal.ZERO) > 0
+                ? spent.divide(amount, 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                        .doubleValue()
+                : 0.0;
+    }
+
+    private static BudgetProgressResponse toProgress(TrackedBudget tracked, Periods periods, LocalDate today) {
+        BudgetSpending budget = tracked.spending();
+        double percentageUsed = percentageUsed(budget);
+        LocalDate periodStart = periods.start(budget.period());
+        Forecast forecast = BudgetForecaster.forecast(tracked.currentDays(),
+                (int) ChronoUnit.DAYS.between(periodStart, today) + 1, tracked.previousDays(),
+                budget.spent().doubleValue(), budget.amount().doubleValue());
+
+        return BudgetProgressResponse.builder()
+                .budgetId(budget.budgetId())
+                .categoryName(budget.categoryName())
+                .categoryColor(budget.categoryColor())
+                .budgetAmount(budget.amount())
+                .spentAmount(budget.spent())
+                .remainingAmount(budget.amount().subtract(budget.spent()))
+                .percentageUsed(Math.round(percentageUsed * 10.0) / 10.0)
+                .status(BudgetStatus.of(percentageUsed))
+                .period(budget.period())
+                .startDate(budget.startDate())
+                .endDate(budget.endDate())
+                .projectedSpend(BigDecimal.valueOf(forecast.projectedSpend()).setScale(2, RoundingMode.HALF_UP))
+                .projectedOverrunDate(forecast.overrunDay() >= 0 ? periodStart.plusDays(forecast.overrunDay()) : null)
+                .dailyAllowance(BigDecimal.valueOf(forecast.dailyAllowance()).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    // Writes of one user inside one transaction. Applied before the report cache is invalidated
+    // after commit, so a report recomputed under the new cache generation sees them.
+    private final class PendingWrites implements TransactionSynchronization {
+
+        private final Long userId;
+        private final List<TransactionChangedEvent> transactionChanges = new ArrayList<>();
+        private int dataChanges;
+
+        private PendingWrites(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            applyCommitted(userId, transactionChanges, dataChanges > transactionChanges.size(), 1);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            completeWrite(userId);
+        }
+    }
+}
@@ -6,15 +6,21 @@ import com.fintrack.exception.BadRequestException;
 import com.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.exception.UnauthorizedException;
 import com.fintrack.model.Category;
-import com.fintrack.model.User;
+import com.fintrack.model.CategoryPreference;
 import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.CategoryPreferenceRepository;
 import com.fintrack.repository.CategoryRepository;
+import com.fintrack.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,29 +30,57 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final UserService userService;
+    private final CategoryPreferenceRepository categoryPreferenceRepository;
+    private final SystemCategoryCatalog systemCategoryCatalog;
+    private final UserDataVersionService userDataVersionService;
 
     @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories(TransactionType type) {
-        User currentUser = userService.getCurrentUserEntity();
+        return getAllCategories(type, false);
+    }
+
+    // Hidden system categories are only listed on request, so the user can find and restore them
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> getAllCategories(TransactionType type, boolean includeHidden) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting all categories for user: {}", currentUser.getEmail());
 
+        Map<Long, CategoryPreference> preferences = categoryPreferenceRepository.findByUserId(currentUser.getId())
+                .stream()
+                .collect(Collectors.toMap(CategoryPreference::getCategoryId, Function.identity()));
+
+        List<CategoryResponse> responses = new ArrayList<>();
+        for (Category category : systemCategoryCatalog.findAll(type)) {
+            CategoryPreference preference = preferences.get(category.getId());
+            if (includeHidden || preference == null || !preference.getHidden()) {
+                responses.add(mapToCategoryResponse(category, preference));
+            }
+        }
+
         List<Category> categories;
         if (type != null) {
             categories = categoryRepository.findByUserIdAndType(currentUser.getId(), type);
         } else {
             categories = categoryRepository.findByUserId(currentUser.getId());
         }
-
-        return categories.stream()
+        categories.stream()
                 .map(this::mapToCategoryResponse)
-                .collect(Collectors.toList());
+                .forEach(responses::add);
+
+        return responses;
     }
 
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting category {} for user: {}", id, currentUser.getEmail());
 
+        Optional<Category> systemCategory = systemCategoryCatalog.find(id);
+        if (systemCategory.isPresent()) {
+            return mapToCategoryResponse(systemCategory.get(),
+                    categoryPreferenceRepository.findByUserIdAndCategoryId(currentUser.getId(), id).orElse(null));
+        }
+
         Category category = categoryRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
@@ -55,15 +89,16 @@ public class CategoryService {
 
     @Transactional
     public CategoryResponse createCategory(CategoryRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Creating category for user: {}", currentUser.getEmail());
 
-        if (categoryRepository.existsByUserIdAndName(currentUser.getId(), request.getName())) {
+        if (isVisibleSystemCategory(currentUser.getId(), request.getName(), request.getType()) ||
+                categoryRepository.existsByUserIdAndName(currentUser.getId(), request.getName())) {
             throw new BadRequestException("A category with this name already exists");
         }
 
         Category category = Category.builder()
-                .user(currentUser)
+                .user(userService.getCurrentUserReference())
                 .name(request.getName())
                 .type(request.getType())
                 .color(request.getColor() != null ? request.getColor() : "#808080")
@@ -71,6 +106,7 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        userDataVersionService.recordWrite(currentUser.getId());
         log.info("Category created with id: {}", category.getId());
 
         return mapToCategoryResponse(category);
@@ -78,15 +114,21 @@ public class CategoryService {
 
     @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Updating category {} for user: {}", id, currentUser.getEmail());
 
+        Optional<Category> systemCategory = systemCategoryCatalog.find(id);
+        if (systemCategory.isPresent()) {
+            return updateSystemCategory(currentUser.getId(), systemCategory.get(), request);
+        }
+
         Category category = categoryRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
         // Check if name is being changed and if it already exists
         if (!category.getName().equals(request.getName()) &&
-                categoryRepository.existsByUserIdAndNameAndIdNot(currentUser.getId(), request.getName(), id)) {
+                (isVisibleSystemCategory(currentUser.getId(), request.getName(), request.getType()) ||
+                categoryRepository.existsByUserIdAndNameAndIdNot(currentUser.getId(), request.getName(), id))) {
             throw new BadRequestException("A category with this name already exists");
         }
 
@@ -100,6 +142,7 @@ public class CategoryService {
         }
 
         category = categoryRepository.save(category);
+        userDataVersionService.recordWrite(currentUser.getId());
         log.info("Category updated: {}", category.getId());
 
         return mapToCategoryResponse(category);
@@ -107,49 +150,114 @@ public class CategoryService {
 
     @Transactional
     public void deleteCategory(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Deleting category {} for user: {}", id, currentUser.getEmail());
 
+        // System categories are shared, so deleting one only hides it for this user
+        if (systemCategoryCatalog.isSystem(id)) {
+            CategoryPreference preference = getOrCreatePreference(currentUser.getId(), id);
+            preference.setHidden(true);
+            categoryPreferenceRepository.save(preference);
+            userDataVersionService.recordWrite(currentUser.getId());
+            log.info("System category {} hidden", id);
+            return;
+        }
+
         Category category = categoryRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
+        // Version first: the cascade into transactions and rollups must lock after the users row
+        userDataVersionService.recordWrite(currentUser.getId());
         categoryRepository.delete(category);
         log.info("Category deleted: {}", id);
     }
 
     @Transactional
-    public void createDefaultCategories(User user) {
-        log.info("Creating default categories for user: {}", user.getEmail());
-
-        // Default expense categories
-        createDefaultCategory(user, "Alimentação", TransactionType.EXPENSE, "#FF5733", "utensils");
-        createDefaultCategory(user, "Transporte", TransactionType.EXPENSE, "#3498DB", "car");
-        createDefaultCategory(user, "Moradia", TransactionType.EXPENSE, "#2ECC71", "home");
-        createDefaultCategory(user, "Saúde", TransactionType.EXPENSE, "#E74C3C", "heartbeat");
-        createDefaultCategory(user, "Educação", TransactionType.EXPENSE, "#9B59B6", "graduation-cap");
-        createDefaultCategory(user, "Lazer", TransactionType.EXPENSE, "#F39C12", "gamepad");
-        createDefaultCategory(user, "Outros", TransactionType.EXPENSE, "#95A5A6", "ellipsis");
-
-        // Default income categories
-        createDefaultCategory(user, "Salário", TransactionType.INCOME, "#27AE60", "dollar-sign");
-        createDefaultCategory(user, "Freelance", TransactionType.INCOME, "#16A085", "briefcase");
-        createDefaultCategory(user, "Investimentos", TransactionType.INCOME, "#2980B9", "chart-line");
-        createDefaultCategory(user, "Outros", TransactionType.INCOME, "#7F8C8D", "plus-circle");
-
-        log.info("Default categories created for user: {}", user.getEmail());
+    public CategoryResponse restoreCategory(Long id) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+        log.info("Restoring category {} for user: {}", id, currentUser.getEmail());
+
+        Category category = systemCategoryCatalog.find(id)
+                .orElseThrow(() -> new BadRequestException("Only system categories can be restored"));
+
+        CategoryPreference preference = categoryPreferenceRepository.findByUserIdAndCategoryId(currentUser.getId(), id)
+                .orElse(null);
+        if (preference != null && preference.getHidden()) {
+            // Hiding freed the name, so the user may have taken it since
+            if (categoryRepository.existsByUserIdAndName(currentUser.getId(), category.getName())) {
+                throw new BadRequestException("A category with this name already exists");
+            }
+            preference.setHidden(false);
+            preference = categoryPreferenceRepository.save(preference);
+            userDataVersionService.recordWrite(currentUser.getId());
+            log.info("System category {} restored", id);
+        }
+
+        return mapToCategoryResponse(category, preference);
+    }
+
+    // Same visibility rule as findAccessibleCategory: a system category the user has hidden no
+    // longer claims its name
+    private boolean isVisibleSystemCategory(Long userId, String name, TransactionType type) {
+        return systemCategoryCatalog.findByNameAndType(name, type)
+                .filter(category -> !categoryPreferenceRepository
+                        .existsByUserIdAndCategoryIdAndHiddenTrue(userId, category.getId()))
+                .isPresent();
+    }
+
+    // Own categories of the user plus the system ones the user has not hidden; used for
+    // ownership checks before transactions and budgets are written against a category
+    public Optional<Category> findAccessibleCategory(Long id, Long userId) {
+        Optional<Category> systemCategory = systemCategoryCatalog.find(id);
+        if (systemCategory.isPresent()) {
+            return categoryPreferenceRepository.existsByUserIdAndCategoryIdAndHiddenTrue(userId, id)
+                    ? Optional.empty()
+                    : systemCategory;
+        }
+        return categoryRepository.findByIdAndUserId(id, userId);
+    }
+
+    // Only color and icon of a system category can be customized
+    private CategoryResponse updateSystemCategory(Long userId, Category category, CategoryRequest request) {
+        if (!category.getName().equals(request.getName()) || category.getType() != request.getType()) {
+            throw new BadRequestException("System categories cannot be renamed or change type");
+        }
+
+        CategoryPreference preference = getOrCreatePreference(userId, category.getId());
+        if (request.getColor() != null) {
+            preference.setColor(request.getColor());
+        }
+        if (request.getIcon() != null) {
+            preference.setIcon(request.getIcon());
+        }
+        preference = categoryPreferenceRepository.save(preference);
+        userDataVersionService.recordWrite(userId);
+        log.info("System category {} customized", category.getId());
+
+        return mapToCategoryResponse(category, preference);
+    }
+
+    private CategoryPreference getOrCreatePreference(Long userId, Long categoryId) {
+        return categoryPreferenceRepository.findByUserIdAndCategoryId(userId, categoryId)
+                .orElseGet(() -> CategoryPreference.builder()
+                        .userId(userId)
+                        .categoryId(categoryId)
+                        .build());
     }
 
-    private void createDefaultCategory(User user, String name, TransactionType type, String color, String icon) {
-        if (categoryRepository.findByUserIdAndName(user.getId(), name).isEmpty()) {
-            Category category = Category.builder()
-                    .user(user)
-                    .name(name)
-                    .type(type)
-                    .color(color)
-                    .icon(icon)
-                    .build();
-            categoryRepository.save(category);
+    private CategoryResponse mapToCategoryResponse(Category category, CategoryPreference preference) {
+        CategoryResponse response = mapToCategoryResponse(category);
+        response.setSystem(true);
+        if (preference != null) {
+            response.setHidden(preference.getHidden());
+            if (preference.getColor() != null) {
+                response.setColor(preference.getColor());
+            }
+            if (preference.getIcon() != null) {
+                response.setIcon(preference.getIcon());
+            }
         }
+        return response;
     }
 
     private CategoryResponse mapToCategoryResponse(Category category) {
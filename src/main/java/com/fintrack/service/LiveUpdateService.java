@@ -0,0 +1,251 @@
+package com.fintrack.service;
+
+import com.fintrack.dto.response.BudgetStatusUpdate;
+import com.fintrack.dto.response.MonthTotalsUpdate;
+import com.fintrack.event.BudgetStatusChangedEvent;
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.exception.ServiceUnavailableException;
+import com.fintrack.model.enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes budget status changes and month total deltas to the user's open Server-Sent Events
+// connections, so clients no longer need to poll progress and summaries. Connections are async
+// requests that hold no thread while idle. Each one has a bounded buffer drained on a virtual
+// thread; a client that lets it fill up is disconnected and refetches when it reconnects. While a
+// user has a connection open, the budget tracker keeps their budgets tracked so every status
+// change is published.
+@Slf4j
+@Service
+public class LiveUpdateService {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final UserService userService;
+    private final BudgetTrackerService budgetTrackerService;
+    private final ExecutorService liveUpdateExecutor;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter rejected;
+    private final Counter dropped;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public LiveUpdateService(UserService userService,
+                             BudgetTrackerService budgetTrackerService,
+                             @Qualifier("liveUpdateExecutor") ExecutorService liveUpdateExecutor,
+                             MeterRegistry meterRegistry,
+                             @Value("${live.max-connections:5000}") int maxConnections,
+                             @Value("${live.buffer-size:32}") int bufferSize,
+                             @Value("${live.timeout:1800000}") long timeoutMs) {
+        this.userService = userService;
+        this.budgetTrackerService = budgetTrackerService;
+        this.liveUpdateExecutor = liveUpdateExecutor;
+        this.maxConnections = maxConnections;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("live.connections", connections, AtomicInteger::get).register(meterRegistry);
+        this.rejected = meterRegistry.counter("live.connections.rejected");
+        this.dropped = meterRegistry.counter("live.connections.dropped");
+    }
+
+    public SseEmitter subscribe() {
+        Long userId = userService.getCurrentPrincipal().getId();
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many live connections, please retry later");
+        }
+        try {
+            budgetTrackerService.watch(userId);
+        } catch (RuntimeException ex) {
+            connections.decrementAndGet();
+            throw ex;
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        subscribers.compute(userId, (id, userSubscribers) -> {
+            Set<Subscriber> current = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        // Sent right away so proxies and the client see the stream open
+        subscriber.offer(SseEmitter.event().reconnectTime(timeoutMs / 60).comment("connected"));
+        log.debug("Live connection opened for user: {}", userId);
+        return emitter;
+    }
+
+    // Published after commit by the budget tracker
+    @EventListener
+    public void onBudgetStatusChanged(BudgetStatusChangedEvent event) {
+        publish(event.userId(), "budget-status", BudgetStatusUpdate.builder()
+                .budgetId(event.budgetId())
+                .categoryName(event.categoryName())
+                .previousStatus(event.previousStatus())
+                .status(event.status())
+                .spentAmount(event.spentAmount())
+                .budgetAmount(event.budgetAmount())
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!subscribers.containsKey(event.userId())) {
+            return;
+        }
+
+        Map<YearMonth, MonthTotalsUpdate> updates = new TreeMap<>();
+        addToMonth(updates, event.before(), -1);
+        addToMonth(updates, event.after(), 1);
+        updates.values().stream()
+                .filter(update -> update.getTransactionCountDelta() != 0
+                        || update.getIncomeDelta().signum() != 0
+                        || update.getExpenseDelta().signum() != 0)
+                .forEach(update -> publish(event.userId(), "month-totals", update));
+    }
+
+    // Comments keep idle connections from being closed by proxies and reveal dead clients
+    @Scheduled(fixedRateString = "${live.heartbeat-interval:25000}",
+               initialDelayString = "${live.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void publish(Long userId, String name, Object payload) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+        // Event builders are consumed when sent, so every connection gets its own
+        userSubscribers.forEach(subscriber ->
+                subscriber.offer(SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON)));
+    }
+
+    private static void addToMonth(Map<YearMonth, MonthTotalsUpdate> updates,
+                                   TransactionChangedEvent.Snapshot snapshot, int sign) {
+        if (snapshot == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(snapshot.date());
+        MonthTotalsUpdate update = updates.computeIfAbsent(month, key -> MonthTotalsUpdate.builder()
+                .month(key.format(MONTH_FORMAT))
+                .incomeDelta(BigDecimal.ZERO)
+                .expenseDelta(BigDecimal.ZERO)
+                .balanceDelta(BigDecimal.ZERO)
+                .transactionCountDelta(0L)
+                .build());
+
+        BigDecimal amount = sign > 0 ? snapshot.amount() : snapshot.amount().negate();
+        if (snapshot.type() == TransactionType.INCOME) {
+            update.setIncomeDelta(update.getIncomeDelta().add(amount));
+            update.setBalanceDelta(update.getBalanceDelta().add(amount));
+        } else {
+            update.setExpenseDelta(update.getExpenseDelta().add(amount));
+            update.setBalanceDelta(update.getBalanceDelta().subtract(amount));
+        }
+        update.setTransactionCountDelta(update.getTransactionCountDelta() + sign);
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            if (userSubscribers.remove(subscriber)) {
+                connections.decrementAndGet();
+                removed[0] = true;
+            }
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+        if (removed[0]) {
+            budgetTrackerService.unwatch(subscriber.userId);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                dropped.increment();
+                log.debug("Live connection of user {} fell behind, closing it", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                liveUpdateExecutor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // shutting down
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter completed; the container reports the rest
+                remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An offer may have landed after the last poll but before the flag was cleared
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
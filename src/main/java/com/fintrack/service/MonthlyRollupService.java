@@ -0,0 +1,132 @@
+package com.fintrack.service;
+
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.MonthlyRollupRepository;
+import com.fintrack.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+
+@Slf4j
+@Service
+public class MonthlyRollupService {
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService reportExecutor;
+
+    @Value("${reports.rollup.backfill.enabled:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${reports.rollup.backfill.chunk-size:500}")
+    private int backfillChunkSize;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+                                UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Qualifier("reportExecutor") ExecutorService reportExecutor) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.userRepository = userRepository;
+        this.transactionManager = transactionManager;
+        this.reportExecutor = reportExecutor;
+    }
+
+    private record BucketKey(YearMonth month, Long categoryId, TransactionType type) implements Comparable<BucketKey> {
+
+        @Override
+        public int compareTo(BucketKey other) {
+            int byMonth = month.compareTo(other.month);
+            if (byMonth != 0) {
+                return byMonth;
+            }
+            int byCategory = categoryId.compareTo(other.categoryId);
+            return byCategory != 0 ? byCategory : type.compareTo(other.type);
+        }
+    }
+
+    private record Delta(BigDecimal amount, long count) {
+
+        Delta plus(Delta other) {
+            return new Delta(amount.add(other.amount), count + other.count);
+        }
+
+        boolean isZero() {
+            return count == 0 && amount.signum() == 0;
+        }
+    }
+
+    // Runs synchronously in the writer's transaction, so rollups commit or roll back with it.
+    // An update that keeps month, category and type touches a single bucket; buckets are
+    // written in key order so concurrent writers of the same user cannot deadlock.
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<BucketKey, Delta> deltas = new TreeMap<>();
+        if (event.before() != null) {
+            deltas.merge(keyOf(event.before()), new Delta(event.before().amount().negate(), -1), Delta::plus);
+        }
+        if (event.after() != null) {
+            deltas.merge(keyOf(event.after()), new Delta(event.after().amount(), 1), Delta::plus);
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                monthlyRollupRepository.addToBucket(event.userId(), key.month(), key.categoryId(), key.type(),
+                        delta.amount(), delta.count());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            reportExecutor.submit(this::backfillAll);
+        }
+    }
+
+    // Rebuilds every user's rollups from raw transactions, one chunk of users per transaction,
+    // so it can run on a live system: only the writers of the chunk being rebuilt wait for it.
+    // The V8 migration seeds the table, so this is a repair tool rather than a deploy step.
+    public long backfillAll() {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        long afterUserId = 0;
+        long users = 0;
+        long rows = 0;
+
+        while (true) {
+            long after = afterUserId;
+            List<Long> userIds = userRepository.findIdsAfter(after, PageRequest.of(0, backfillChunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long lastUserId = userIds.get(userIds.size() - 1);
+            Integer inserted = chunkTransaction.execute(status -> monthlyRollupRepository.rebuildForUsers(after, lastUserId));
+
+            users += userIds.size();
+            rows += inserted != null ? inserted : 0;
+            afterUserId = lastUserId;
+            log.info("Rollup backfill progress: {} users, {} rows, last user id {}", users, rows, lastUserId);
+        }
+
+        log.info("Rollup backfill finished: {} users, {} rows", users, rows);
+        return rows;
+    }
+
+    private static BucketKey keyOf(TransactionChangedEvent.Snapshot snapshot) {
+        return new BucketKey(YearMonth.from(snapshot.date()), snapshot.categoryId(), snapshot.type());
+    }
+}
@@ -0,0 +1,112 @@
+package com.fintrack.service;
+
+import com.fintrack.exception.UnauthorizedException;
+import com.fintrack.model.RefreshToken;
+import com.fintrack.model.User;
+import com.fintrack.repository.RefreshTokenRepository;
+import com.fintrack.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private long refreshExpirationMs;
+
+    public record RotatedToken(User user, String refreshToken) {
+    }
+
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    // Exchanges a refresh token for a new one in the same family. Presenting a token that was
+    // already rotated (or revoked) is treated as theft and revokes the whole family.
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public RotatedToken rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}, revoked {} tokens in family {}",
+                    current.getUser().getId(), revoked, current.getFamilyId());
+            throw new UnauthorizedException("Refresh token is no longer valid");
+        }
+
+        String nextToken = issue(current.getUser(), current.getFamilyId());
+        return new RotatedToken(current.getUser(), nextToken);
+    }
+
+    // Revokes the presented token's family; tokens of other users are ignored silently
+    @Transactional
+    public void revoke(String rawToken, Long userId) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .filter(token -> token.getUser().getId().equals(userId))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public int revokeAll(Long userId) {
+        return refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired refresh tokens", deleted);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L))
+                .build());
+
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.fintrack.service;
+
+// Propagates report cache invalidations to other nodes. Implementations deliver the user id to
+// every other instance, which should then call ReportCacheService.invalidateLocal(userId).
+public interface ReportCacheInvalidationNotifier {
+
+    void reportsInvalidated(Long userId);
+}
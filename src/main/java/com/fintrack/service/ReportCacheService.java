@@ -0,0 +1,171 @@
+package com.fintrack.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.event.UserDataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Caches report responses as serialized JSON, bounded by total bytes. Every key carries the
+// user's cache generation, which every committed write of that user bumps, so a write makes all
+// of the user's cached reports unreachable at once; the stale entries age out through eviction.
+// Generations are drawn from one counter and never reused, and a user's entry outlives every
+// report cached under an older one, so it can expire without making stale reports reachable.
+@Slf4j
+@Service
+public class ReportCacheService {
+
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ReportCacheInvalidationNotifier invalidationNotifier;
+    private final Cache<ReportKey, CachedReport> reports;
+    private final Cache<Long, Long> generations;
+    private final AtomicLong nextGeneration = new AtomicLong();
+    private final Counter invalidations;
+    private final int gzipMinBytes;
+
+    private record ReportKey(Long userId, long generation, LocalDate day, String report, List<Object> params) {
+    }
+
+    public record CachedReport(byte[] body, boolean gzipped) {
+
+        public byte[] uncompressedBody() {
+            if (!gzipped) {
+                return body;
+            }
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    public ReportCacheService(ObjectMapper objectMapper,
+                              UserService userService,
+                              ReportCacheInvalidationNotifier invalidationNotifier,
+                              MeterRegistry meterRegistry,
+                              @Value("${reports.cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${reports.cache.ttl:3600000}") long ttlMs,
+                              @Value("${reports.cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.userService = userService;
+        this.invalidationNotifier = invalidationNotifier;
+        this.gzipMinBytes = gzipMinBytes;
+        this.reports = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ReportKey key, CachedReport report) -> report.body().length)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        // Twice the report TTL covers reports computed before a bump but stored just after it
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs).multipliedBy(2))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, "reports");
+        Gauge.builder("reports.cache.hit.ratio", reports, cache -> cache.stats().hitRate())
+                .register(meterRegistry);
+        this.invalidations = meterRegistry.counter("reports.cache.invalidations");
+    }
+
+    public CachedReport get(String report, Supplier<?> loader, Object... params) {
+        return get(report, loader, result -> true, params);
+    }
+
+    // Serves the current user's report from the cache, computing and serializing it on a miss.
+    // Results rejected by cacheable (e.g. partial ones) are serialized but not kept. The day is
+    // part of the key because reports default to the current month.
+    public <T> CachedReport get(String report, Supplier<T> loader, Predicate<? super T> cacheable, Object... params) {
+        Long userId = userService.getCurrentPrincipal().getId();
+        Long generation = generations.getIfPresent(userId);
+        ReportKey key = new ReportKey(userId, generation != null ? generation : 0L, LocalDate.now(), report,
+                Arrays.asList(params));
+
+        CachedReport cached = reports.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        T result = loader.get();
+        CachedReport serialized = serialize(result);
+        if (cacheable.test(result)) {
+            reports.put(key, serialized);
+        }
+        return serialized;
+    }
+
+    // Drops the user's cached reports once the current transaction commits, on this node and,
+    // through the notifier, on the others
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(userId);
+                }
+            });
+        } else {
+            invalidateNow(userId);
+        }
+    }
+
+    public void invalidateLocal(Long userId) {
+        generations.put(userId, nextGeneration.incrementAndGet());
+        invalidations.increment();
+        log.debug("Invalidated cached reports of user: {}", userId);
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private void invalidateNow(Long userId) {
+        invalidateLocal(userId);
+        invalidationNotifier.reportsInvalidated(userId);
+    }
+
+    private CachedReport serialize(Object result) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize report", ex);
+        }
+        if (json.length < gzipMinBytes) {
+            return new CachedReport(json, false);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new CachedReport(compressed.toByteArray(), true);
+    }
+}
@@ -1,59 +1,109 @@
 package com.fintrack.service;
 
 import com.fintrack.dto.response.*;
-import com.fintrack.model.User;
+import com.fintrack.exception.BadRequestException;
+import com.fintrack.model.enums.TimeBucket;
 import com.fintrack.model.enums.TransactionType;
-import com.fintrack.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
+import com.fintrack.repository.MonthlyRollupRepository;
+import com.fintrack.repository.TransactionAggregateRepository;
+import com.fintrack.repository.TransactionAggregateRepository.DatedTotals;
+import com.fintrack.repository.UserBalanceRepository;
+import com.fintrack.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReportService {
 
-    private final TransactionRepository transactionRepository;
+    private static final int MAX_EVOLUTION_MONTHS = 120;
+    private static final int MAX_TIMESERIES_BUCKETS = 1000;
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
     private final TransactionService transactionService;
     private final UserService userService;
-    private final JdbcTemplate jdbcTemplate;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionAggregateRepository transactionAggregateRepository;
+    private final UserBalanceRepository userBalanceRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ExecutorService reportExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reports.overview.timeout:2000}")
+    private long overviewTimeoutMs;
+
+    public ReportService(TransactionService transactionService,
+                         UserService userService,
+                         MonthlyRollupRepository monthlyRollupRepository,
+                         TransactionAggregateRepository transactionAggregateRepository,
+                         UserBalanceRepository userBalanceRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Qualifier("reportExecutor") ExecutorService reportExecutor,
+                         MeterRegistry meterRegistry) {
+        this.transactionService = transactionService;
+        this.userService = userService;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionAggregateRepository = transactionAggregateRepository;
+        this.userBalanceRepository = userBalanceRepository;
+        this.transactionManager = transactionManager;
+        this.reportExecutor = reportExecutor;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Transactional(readOnly = true)
     public MonthSummaryResponse getMonthSummary() {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting month summary for user: {}", currentUser.getEmail());
 
         YearMonth currentMonth = YearMonth.now();
         YearMonth previousMonth = currentMonth.minusMonths(1);
 
-        LocalDate currentStart = currentMonth.atDay(1);
-        LocalDate currentEnd = currentMonth.atEndOfMonth();
-        LocalDate previousStart = previousMonth.atDay(1);
-        LocalDate previousEnd = previousMonth.atEndOfMonth();
+        Map<YearMonth, MonthlyRollupRepository.MonthlyTotals> totals = findMonthlyTotals(
+                currentUser.getId(), previousMonth, currentMonth);
+        MonthlyRollupRepository.MonthlyTotals current = totals.getOrDefault(currentMonth,
+                MonthlyRollupRepository.MonthlyTotals.empty(currentMonth));
+        MonthlyRollupRepository.MonthlyTotals previous = totals.getOrDefault(previousMonth,
+                MonthlyRollupRepository.MonthlyTotals.empty(previousMonth));
 
-        BigDecimal currentIncome = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.INCOME, currentStart, currentEnd);
-        BigDecimal currentExpense = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.EXPENSE, currentStart, currentEnd);
-        BigDecimal currentBalance = currentIncome.subtract(currentExpense);
+        BigDecimal currentIncome = current.income();
+        BigDecimal currentExpense = current.expense();
+        BigDecimal currentBalance = current.balance();
 
-        BigDecimal previousIncome = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.INCOME, previousStart, previousEnd);
-        BigDecimal previousExpense = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.EXPENSE, previousStart, previousEnd);
-        BigDecimal previousBalance = previousIncome.subtract(previousExpense);
+        BigDecimal previousIncome = previous.income();
+        BigDecimal previousExpense = previous.expense();
+        BigDecimal previousBalance = previous.balance();
 
         MonthSummaryResponse.ComparisonData comparison = MonthSummaryResponse.ComparisonData.builder()
                 .incomeChange(calculatePercentageChange(previousIncome, currentIncome))
@@ -62,7 +112,7 @@ public class ReportService {
                 .build();
 
         return MonthSummaryResponse.builder()
-                .month(currentMonth.format(DateTimeFormatter.ofPattern("yyyy-MM")))
+                .month(currentMonth.format(MONTH_FORMAT))
                 .totalIncome(currentIncome)
                 .totalExpense(currentExpense)
                 .balance(currentBalance)
@@ -72,29 +122,24 @@ public class ReportService {
 
     @Transactional(readOnly = true)
     public List<CategorySummaryResponse> getCategorySummary(String month) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting category summary for user: {} and month: {}", currentUser.getEmail(), month);
 
-        YearMonth yearMonth = month != null ? YearMonth.parse(month) : YearMonth.now();
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-
-        String sql = "SELECT c.id, c.name, c.color, SUM(t.amount) as total, COUNT(t.id) as count " +
-                     "FROM transactions t " +
-                     "INNER JOIN categories c ON t.category_id = c.id " +
-                     "WHERE t.user_id = ? AND t.type = 'EXPENSE' AND t.date >= ? AND t.date <= ? " +
-                     "GROUP BY c.id, c.name, c.color " +
-                     "ORDER BY total DESC";
-
-        List<CategorySummaryResponse> summaries = jdbcTemplate.query(sql,
-                (rs, rowNum) -> CategorySummaryResponse.builder()
-                        .categoryId(rs.getLong("id"))
-                        .categoryName(rs.getString("name"))
-                        .categoryColor(rs.getString("color"))
-                        .totalAmount(rs.getBigDecimal("total"))
-                        .transactionCount(rs.getLong("count"))
-                        .build(),
-                currentUser.getId(), startDate, endDate);
+        YearMonth yearMonth = month != null ? parseMonth(month) : YearMonth.now();
+        return findCategorySummaries(currentUser.getId(), yearMonth);
+    }
+
+    private List<CategorySummaryResponse> findCategorySummaries(Long userId, YearMonth yearMonth) {
+        List<CategorySummaryResponse> summaries = monthlyRollupRepository
+                .sumByCategory(userId, yearMonth, TransactionType.EXPENSE).stream()
+                .map(totals -> CategorySummaryResponse.builder()
+                        .categoryId(totals.categoryId())
+                        .categoryName(totals.name())
+                        .categoryColor(totals.color())
+                        .totalAmount(totals.total())
+                        .transactionCount(totals.count())
+                        .build())
+                .toList();
 
         // Calculate percentages
         BigDecimal totalExpense = summaries.stream()
@@ -115,96 +160,373 @@ public class ReportService {
     }
 
     @Transactional(readOnly = true)
-    public List<MonthlyEvolutionResponse> getMonthlyEvolution(Integer months) {
-        User currentUser = userService.getCurrentUserEntity();
-        int monthsToShow = months != null && months > 0 && months <= 24 ? months : 12;
-        log.info("Getting monthly evolution for user: {} for last {} months", currentUser.getEmail(), monthsToShow);
-
-        List<MonthlyEvolutionResponse> evolution = new ArrayList<>();
-        YearMonth currentMonth = YearMonth.now();
+    public List<MonthlyEvolutionResponse> getMonthlyEvolution(Integer months, String from, String to) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+
+        // An explicit from/to range wins; otherwise the last N months up to the current one
+        YearMonth toMonth = to != null ? parseMonth(to) : YearMonth.now();
+        YearMonth fromMonth = from != null
+                ? parseMonth(from)
+                : toMonth.minusMonths((months != null && months > 0 ? months : 12) - 1L);
+        if (fromMonth.isAfter(toMonth)) {
+            throw new BadRequestException("'from' month must not be after 'to' month");
+        }
+        long monthCount = ChronoUnit.MONTHS.between(fromMonth, toMonth) + 1;
+        if (monthCount > MAX_EVOLUTION_MONTHS) {
+            throw new BadRequestException("Monthly evolution is limited to " + MAX_EVOLUTION_MONTHS + " months");
+        }
+        log.info("Getting monthly evolution for user: {} from {} to {}", currentUser.getEmail(), fromMonth, toMonth);
 
-        for (int i = monthsToShow - 1; i >= 0; i--) {
-            YearMonth month = currentMonth.minusMonths(i);
-            LocalDate startDate = month.atDay(1);
-            LocalDate endDate = month.atEndOfMonth();
+        Map<YearMonth, MonthlyRollupRepository.MonthlyTotals> totalsByMonth =
+                findMonthlyTotals(currentUser.getId(), fromMonth, toMonth);
 
-            BigDecimal income = transactionRepository.sumByUserAndTypeAndDateBetween(
-                    currentUser.getId(), TransactionType.INCOME, startDate, endDate);
-            BigDecimal expense = transactionRepository.sumByUserAndTypeAndDateBetween(
-                    currentUser.getId(), TransactionType.EXPENSE, startDate, endDate);
-            BigDecimal balance = income.subtract(expense);
+        List<MonthlyEvolutionResponse> evolution = new ArrayList<>((int) monthCount);
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            MonthlyRollupRepository.MonthlyTotals totals = totalsByMonth.get(month);
+            BigDecimal income = totals != null ? totals.income() : BigDecimal.ZERO;
+            BigDecimal expense = totals != null ? totals.expense() : BigDecimal.ZERO;
 
             evolution.add(MonthlyEvolutionResponse.builder()
-                    .month(month.format(DateTimeFormatter.ofPattern("yyyy-MM")))
+                    .month(month.format(MONTH_FORMAT))
                     .income(income)
                     .expense(expense)
-                    .balance(balance)
+                    .balance(income.subtract(expense))
                     .build());
         }
 
         return evolution;
     }
 
+    // Category x month totals for a range from one grouped rollup query. Categories are ordered
+    // by their total over the whole range; months without data hold zeros.
     @Transactional(readOnly = true)
+    public CategoryMatrixResponse getCategoryMatrix(String from, String to, TransactionType type) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+
+        YearMonth toMonth = to != null ? parseMonth(to) : YearMonth.now();
+        YearMonth fromMonth = from != null ? parseMonth(from) : toMonth.minusMonths(11);
+        if (fromMonth.isAfter(toMonth)) {
+            throw new BadRequestException("'from' month must not be after 'to' month");
+        }
+        int monthCount = (int) ChronoUnit.MONTHS.between(fromMonth, toMonth) + 1;
+        if (monthCount > MAX_EVOLUTION_MONTHS) {
+            throw new BadRequestException("Category matrix is limited to " + MAX_EVOLUTION_MONTHS + " months");
+        }
+        TransactionType matrixType = type != null ? type : TransactionType.EXPENSE;
+        log.info("Getting {} category matrix for user: {} from {} to {}", matrixType, currentUser.getEmail(),
+                fromMonth, toMonth);
+
+        Map<Long, MatrixRow> rows = new LinkedHashMap<>();
+        monthlyRollupRepository.streamMonthlyTotals(currentUser.getId(), fromMonth, toMonth, matrixType, null, true,
+                totals -> {
+                    MatrixRow row = rows.computeIfAbsent(totals.categoryId(),
+                            id -> new MatrixRow(totals, monthCount));
+                    int month = (int) ChronoUnit.MONTHS.between(fromMonth, YearMonth.from(totals.date()));
+                    row.totals[month] = matrixType == TransactionType.INCOME ? totals.income() : totals.expense();
+                    row.counts[month] = totals.count();
+                    row.rangeTotal = row.rangeTotal.add(row.totals[month]);
+                });
+
+        List<MatrixRow> ordered = rows.values().stream()
+                .sorted(Comparator.comparing((MatrixRow row) -> row.rangeTotal).reversed())
+                .toList();
+
+        BigDecimal[] monthTotals = new BigDecimal[monthCount];
+        Arrays.fill(monthTotals, BigDecimal.ZERO);
+        ordered.forEach(row -> {
+            for (int month = 0; month < monthCount; month++) {
+                monthTotals[month] = monthTotals[month].add(row.totals[month]);
+            }
+        });
+
+        BigDecimal[][] totals = new BigDecimal[ordered.size()][];
+        long[][] counts = new long[ordered.size()][];
+        double[][] shares = new double[ordered.size()][monthCount];
+        List<CategoryMatrixResponse.CategoryEntry> categories = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            MatrixRow row = ordered.get(i);
+            categories.add(row.category);
+            totals[i] = row.totals;
+            counts[i] = row.counts;
+            for (int month = 0; month < monthCount; month++) {
+                // Shares are display values, so plain double arithmetic is precise enough
+                double monthTotal = monthTotals[month].doubleValue();
+                shares[i][month] = monthTotal > 0
+                        ? Math.round(row.totals[month].doubleValue() / monthTotal * 1000.0) / 10.0
+                        : 0.0;
+            }
+        }
+
+        List<String> months = new ArrayList<>(monthCount);
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            months.add(month.format(MONTH_FORMAT));
+        }
+
+        return CategoryMatrixResponse.builder()
+                .type(matrixType)
+                .months(months)
+                .categories(categories)
+                .totals(totals)
+                .counts(counts)
+                .shares(shares)
+                .monthTotals(monthTotals)
+                .build();
+    }
+
+    private static final class MatrixRow {
+
+        private final CategoryMatrixResponse.CategoryEntry category;
+        private final BigDecimal[] totals;
+        private final long[] counts;
+        private BigDecimal rangeTotal = BigDecimal.ZERO;
+
+        MatrixRow(DatedTotals first, int monthCount) {
+            this.category = CategoryMatrixResponse.CategoryEntry.builder()
+                    .id(first.categoryId())
+                    .name(first.categoryName())
+                    .color(first.categoryColor())
+                    .build();
+            this.totals = new BigDecimal[monthCount];
+            this.counts = new long[monthCount];
+            Arrays.fill(totals, BigDecimal.ZERO);
+        }
+    }
+
+    // The four sections are independent, so they run concurrently on virtual threads, each in
+    // its own read-only transaction (and connection). Latency is that of the slowest section.
+    // A section that fails or misses the shared deadline is left out and listed in
+    // unavailableParts instead of failing the whole overview. No transaction is held here.
     public FinancialOverviewResponse getFinancialOverview() {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+        Long userId = currentUser.getId();
         log.info("Getting financial overview for user: {}", currentUser.getEmail());
 
-        // Current month summary
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(overviewTimeoutMs);
+
+        Future<FinancialOverviewResponse.CurrentMonthSummary> currentMonth =
+                submitOverviewPart("currentMonth", () -> buildCurrentMonthSummary(userId));
+        Future<List<CategorySummaryResponse>> topCategories =
+                submitOverviewPart("topCategories", () -> findCategorySummaries(userId, YearMonth.now()).stream()
+                        .limit(5)
+                        .toList());
+        Future<List<TransactionResponse>> recentTransactions =
+                submitOverviewPart("recentTransactions", () -> transactionService.getRecentTransactions(userId, 5));
+        Future<FinancialOverviewResponse.TotalAllTime> totalAllTime =
+                submitOverviewPart("totalAllTime", () -> queryAllTimeTotals(userId));
+
+        List<String> unavailableParts = new ArrayList<>();
+        try {
+            return FinancialOverviewResponse.builder()
+                    .currentMonth(awaitOverviewPart("currentMonth", currentMonth, deadline, unavailableParts))
+                    .topCategories(awaitOverviewPart("topCategories", topCategories, deadline, unavailableParts))
+                    .recentTransactions(awaitOverviewPart("recentTransactions", recentTransactions, deadline,
+                            unavailableParts))
+                    .totalAllTime(awaitOverviewPart("totalAllTime", totalAllTime, deadline, unavailableParts))
+                    .unavailableParts(unavailableParts)
+                    .build();
+        } finally {
+            // No-op for finished parts; stops stragglers after a timeout or interrupt
+            List.of(currentMonth, topCategories, recentTransactions, totalAllTime)
+                    .forEach(part -> part.cancel(true));
+        }
+    }
+
+    private FinancialOverviewResponse.CurrentMonthSummary buildCurrentMonthSummary(Long userId) {
         YearMonth currentMonth = YearMonth.now();
-        LocalDate currentStart = currentMonth.atDay(1);
-        LocalDate currentEnd = currentMonth.atEndOfMonth();
-
-        BigDecimal currentIncome = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.INCOME, currentStart, currentEnd);
-        BigDecimal currentExpense = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.EXPENSE, currentStart, currentEnd);
-        BigDecimal currentBalance = currentIncome.subtract(currentExpense);
-
-        FinancialOverviewResponse.CurrentMonthSummary currentMonthSummary =
-                FinancialOverviewResponse.CurrentMonthSummary.builder()
-                        .totalIncome(currentIncome)
-                        .totalExpense(currentExpense)
-                        .balance(currentBalance)
-                        .build();
-
-        // Top 5 categories
-        List<CategorySummaryResponse> topCategories = getCategorySummary(null).stream()
-                .limit(5)
-                .toList();
+        MonthlyRollupRepository.MonthlyTotals current = findMonthlyTotals(userId, currentMonth, currentMonth)
+                .getOrDefault(currentMonth, MonthlyRollupRepository.MonthlyTotals.empty(currentMonth));
+
+        return FinancialOverviewResponse.CurrentMonthSummary.builder()
+                .totalIncome(current.income())
+                .totalExpense(current.expense())
+                .balance(current.balance())
+                .build();
+    }
 
-        // Recent 5 transactions
-        List<TransactionResponse> recentTransactions = transactionService.getAllTransactions(
-                null, null, null, null, null,
-                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "date", "createdAt"))
-        ).getContent();
-
-        // All time totals
-        String allTimeSql = "SELECT " +
-                            "COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END), 0) as income, " +
-                            "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), 0) as expense " +
-                            "FROM transactions WHERE user_id = ?";
-
-        FinancialOverviewResponse.TotalAllTime totalAllTime = jdbcTemplate.queryForObject(allTimeSql,
-                (rs, rowNum) -> {
-                    BigDecimal income = rs.getBigDecimal("income");
-                    BigDecimal expense = rs.getBigDecimal("expense");
-                    return FinancialOverviewResponse.TotalAllTime.builder()
-                            .income(income)
-                            .expense(expense)
-                            .balance(income.subtract(expense))
-                            .build();
-                },
-                currentUser.getId());
-
-        return FinancialOverviewResponse.builder()
-                .currentMonth(currentMonthSummary)
-                .topCategories(topCategories)
-                .recentTransactions(recentTransactions)
-                .totalAllTime(totalAllTime)
+    private FinancialOverviewResponse.TotalAllTime queryAllTimeTotals(Long userId) {
+        UserBalanceRepository.Totals totals = userBalanceRepository.findTotals(userId);
+        return FinancialOverviewResponse.TotalAllTime.builder()
+                .income(totals.income())
+                .expense(totals.expense())
+                .balance(totals.balance())
                 .build();
     }
 
+    private Map<YearMonth, MonthlyRollupRepository.MonthlyTotals> findMonthlyTotals(Long userId, YearMonth from,
+                                                                                    YearMonth to) {
+        return monthlyRollupRepository.sumByMonth(userId, from, to).stream()
+                .collect(Collectors.toMap(MonthlyRollupRepository.MonthlyTotals::month, Function.identity()));
+    }
+
+    private <T> Future<T> submitOverviewPart(String part, Supplier<T> query) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        return reportExecutor.submit(() -> {
+            long start = System.nanoTime();
+            String outcome = "success";
+            try {
+                return readOnlyTransaction.execute(status -> query.get());
+            } catch (RuntimeException ex) {
+                outcome = "error";
+                throw ex;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                meterRegistry.timer("reports.overview.part", "part", part, "outcome", outcome)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+                log.debug("Overview part {} finished in {} ms ({})", part,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+            }
+        });
+    }
+
+    private <T> T awaitOverviewPart(String part, Future<T> future, long deadline, List<String> unavailableParts) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Overview part {} missed the {} ms deadline", part, overviewTimeoutMs);
+        } catch (ExecutionException ex) {
+            log.warn("Overview part {} failed", part, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while waiting for overview part {}", part);
+        }
+        unavailableParts.add(part);
+        return null;
+    }
+
+    public record TimeSeriesQuery(Long userId, LocalDate start, LocalDate end, TimeBucket bucket,
+                                  TransactionType type, Long categoryId, boolean groupByCategory) {
+    }
+
+    // Validates a time-series request for the current user; done before streaming starts so
+    // errors still produce a regular error response
+    public TimeSeriesQuery prepareTimeSeries(LocalDate start, LocalDate end, TimeBucket bucket, TransactionType type,
+                                             Long categoryId, boolean groupByCategory) {
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
+        if (start.isAfter(end)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+        int buckets = 0;
+        for (LocalDate cursor = bucketStart(bucket, start); !cursor.isAfter(end); cursor = nextBucket(bucket, cursor)) {
+            if (++buckets > MAX_TIMESERIES_BUCKETS) {
+                throw new BadRequestException("Time series is limited to " + MAX_TIMESERIES_BUCKETS + " buckets");
+            }
+        }
+        log.info("Getting {} time series for user: {} from {} to {}", bucket, currentUser.getEmail(), start, end);
+        return new TimeSeriesQuery(currentUser.getId(), start, end, bucket, type, categoryId, groupByCategory);
+    }
+
+    // One aggregate query whose rows are folded into buckets as they arrive; each bucket goes to
+    // the sink as soon as it is complete. Ungrouped series have a point for every bucket, grouped
+    // ones a point per category with data. Whole-month ranges with month or coarser buckets are
+    // read from the monthly rollups, anything else from per-day transaction totals.
+    @Transactional(readOnly = true)
+    public void streamTimeSeries(TimeSeriesQuery query, Consumer<TimeSeriesPointResponse> sink) {
+        TimeSeriesAccumulator accumulator = new TimeSeriesAccumulator(query, sink);
+
+        boolean wholeMonths = query.start().getDayOfMonth() == 1
+                && query.end().equals(query.end().with(TemporalAdjusters.lastDayOfMonth()));
+        if (wholeMonths && query.bucket() != TimeBucket.DAY && query.bucket() != TimeBucket.WEEK) {
+            monthlyRollupRepository.streamMonthlyTotals(query.userId(), YearMonth.from(query.start()),
+                    YearMonth.from(query.end()), query.type(), query.categoryId(), query.groupByCategory(),
+                    accumulator::add);
+        } else {
+            transactionAggregateRepository.streamDailyTotals(query.userId(), query.start(), query.end(),
+                    query.type(), query.categoryId(), query.groupByCategory(), accumulator::add);
+        }
+        accumulator.finish();
+    }
+
+    private static final class TimeSeriesAccumulator {
+
+        private final TimeSeriesQuery query;
+        private final Consumer<TimeSeriesPointResponse> sink;
+        private final Map<Long, DatedTotals> categoryTotals = new TreeMap<>();
+        private LocalDate bucket;
+        private DatedTotals totals;
+
+        TimeSeriesAccumulator(TimeSeriesQuery query, Consumer<TimeSeriesPointResponse> sink) {
+            this.query = query;
+            this.sink = sink;
+            this.bucket = bucketStart(query.bucket(), query.start());
+        }
+
+        void add(DatedTotals row) {
+            LocalDate rowBucket = bucketStart(query.bucket(), row.date());
+            while (bucket.isBefore(rowBucket)) {
+                flush();
+            }
+            if (query.groupByCategory()) {
+                categoryTotals.merge(row.categoryId(), row, TimeSeriesAccumulator::sum);
+            } else {
+                totals = totals != null ? sum(totals, row) : row;
+            }
+        }
+
+        void finish() {
+            while (!bucket.isAfter(query.end())) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            LocalDate next = nextBucket(query.bucket(), bucket);
+            LocalDate start = bucket.isBefore(query.start()) ? query.start() : bucket;
+            LocalDate end = next.minusDays(1).isAfter(query.end()) ? query.end() : next.minusDays(1);
+
+            if (query.groupByCategory()) {
+                categoryTotals.values().forEach(row -> sink.accept(toPoint(start, end, row)));
+                categoryTotals.clear();
+            } else {
+                sink.accept(toPoint(start, end, totals != null
+                        ? totals
+                        : new DatedTotals(start, null, null, null, BigDecimal.ZERO, BigDecimal.ZERO, 0)));
+                totals = null;
+            }
+            bucket = next;
+        }
+
+        private static DatedTotals sum(DatedTotals a, DatedTotals b) {
+            return new DatedTotals(a.date(), a.categoryId(), a.categoryName(), a.categoryColor(),
+                    a.income().add(b.income()), a.expense().add(b.expense()), a.count() + b.count());
+        }
+
+        private static TimeSeriesPointResponse toPoint(LocalDate start, LocalDate end, DatedTotals totals) {
+            return TimeSeriesPointResponse.builder()
+                    .start(start)
+                    .end(end)
+                    .categoryId(totals.categoryId())
+                    .categoryName(totals.categoryName())
+                    .categoryColor(totals.categoryColor())
+                    .income(totals.income())
+                    .expense(totals.expense())
+                    .balance(totals.income().subtract(totals.expense()))
+                    .transactionCount(totals.count())
+                    .build();
+        }
+    }
+
+    private static LocalDate bucketStart(TimeBucket bucket, LocalDate date) {
+        return switch (bucket) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    private static LocalDate nextBucket(TimeBucket bucket, LocalDate bucketStart) {
+        return switch (bucket) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+            case QUARTER -> bucketStart.plusMonths(3);
+            case YEAR -> bucketStart.plusYears(1);
+        };
+    }
+
     private Double calculatePercentageChange(BigDecimal oldValue, BigDecimal newValue) {
         if (oldValue.compareTo(BigDecimal.ZERO) == 0) {
             return newValue.compareTo(BigDecimal.ZERO) == 0 ? 0.0 : 100.0;
@@ -214,4 +536,12 @@ public class ReportService {
                 .multiply(BigDecimal.valueOf(100));
         return Math.round(change.doubleValue() * 10.0) / 10.0;
     }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month, MONTH_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid month '" + month + "', expected format yyyy-MM");
+        }
+    }
 }
@@ -0,0 +1,167 @@
+package com.fintrack.service;
+
+import com.fintrack.model.User;
+import com.fintrack.repository.RefreshTokenRepository;
+import com.fintrack.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pre-computes a user's dashboard reports into the report cache, after login and for every
+// user with a live session when a new month starts. Work runs on a small dedicated pool and
+// yields to live traffic: it waits while the connection pool is busy and gives up if it stays so.
+@Slf4j
+@Service
+public class ReportWarmupService {
+
+    private final ReportCacheService reportCacheService;
+    private final ReportService reportService;
+    private final BudgetService budgetService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ThreadPoolTaskExecutor warmupExecutor;
+    private final MeterRegistry meterRegistry;
+    private final HikariDataSource hikari;
+    private final int maxActiveConnections;
+
+    @Value("${reports.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reports.warmup.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${reports.warmup.backoff:200}")
+    private long backoffMs;
+
+    @Value("${reports.warmup.max-backoffs:25}")
+    private int maxBackoffs;
+
+    public ReportWarmupService(ReportCacheService reportCacheService,
+                               ReportService reportService,
+                               BudgetService budgetService,
+                               RefreshTokenRepository refreshTokenRepository,
+                               @Qualifier("reportWarmupExecutor") ThreadPoolTaskExecutor warmupExecutor,
+                               MeterRegistry meterRegistry,
+                               DataSource dataSource,
+                               @Value("${reports.warmup.max-pool-usage:0.5}") double maxPoolUsage) throws SQLException {
+        this.reportCacheService = reportCacheService;
+        this.reportService = reportService;
+        this.budgetService = budgetService;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.warmupExecutor = warmupExecutor;
+        this.meterRegistry = meterRegistry;
+
+        // Without Hikari there is nothing to watch and warm-up is never throttled
+        this.hikari = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class)
+                : null;
+        this.maxActiveConnections = hikari != null
+                ? Math.max(1, (int) (hikari.getMaximumPoolSize() * maxPoolUsage))
+                : Integer.MAX_VALUE;
+    }
+
+    public void warmAsync(UserPrincipal principal) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmupExecutor.execute(() -> warm(principal));
+        } catch (TaskRejectedException ex) {
+            meterRegistry.counter("reports.warmup", "outcome", "rejected").increment();
+            log.debug("Warm-up queue full, skipping user: {}", principal.getId());
+        }
+    }
+
+    // Scheduled for the start of each month, when every cached report has gone stale at once.
+    // The sweep itself runs on the warm-up pool so it never blocks the scheduler thread.
+    @Scheduled(cron = "${reports.warmup.cron:0 1 0 1 * *}")
+    public void warmActiveUsers() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmupExecutor.execute(this::sweepActiveUsers);
+        } catch (TaskRejectedException ex) {
+            log.warn("Warm-up queue full, skipping the month rollover sweep");
+        }
+    }
+
+    // Runs the report methods as the given user, exactly as the dashboard endpoints would, so
+    // the cache keys match what those endpoints look up
+    public void warm(UserPrincipal principal) {
+        if (!awaitConnectionCapacity()) {
+            meterRegistry.counter("reports.warmup", "outcome", "throttled").increment();
+            log.debug("Connection pool busy, skipping warm-up for user: {}", principal.getId());
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                principal.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        try {
+            reportCacheService.get("month-summary", reportService::getMonthSummary);
+            reportCacheService.get("category-summary", () -> reportService.getCategorySummary(null), (Object) null);
+            reportCacheService.get("budget-progress", budgetService::getBudgetProgress);
+            meterRegistry.counter("reports.warmup", "outcome", "warmed").increment();
+        } catch (RuntimeException ex) {
+            meterRegistry.counter("reports.warmup", "outcome", "failed").increment();
+            log.warn("Warm-up failed for user: {}", principal.getId(), ex);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void sweepActiveUsers() {
+        long afterUserId = 0;
+        int users = 0;
+        while (true) {
+            List<User> chunk = refreshTokenRepository.findUsersWithActiveSessionsAfter(afterUserId,
+                    LocalDateTime.now(), PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            for (User user : chunk) {
+                warm(UserPrincipal.from(user));
+            }
+            users += chunk.size();
+            afterUserId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("Month rollover warm-up finished for {} users", users);
+    }
+
+    private boolean awaitConnectionCapacity() {
+        HikariPoolMXBean connectionPool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (connectionPool == null) {
+            return true;
+        }
+        for (int attempt = 0; attempt <= maxBackoffs; attempt++) {
+            if (connectionPool.getThreadsAwaitingConnection() == 0
+                    && connectionPool.getActiveConnections() < maxActiveConnections) {
+                return true;
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+}
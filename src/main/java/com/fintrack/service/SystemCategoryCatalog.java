@@ -0,0 +1,70 @@
+package com.fintrack.service;
+
+import com.fintrack.model.Category;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// The shared system categories are a handful of rows that only change through migrations,
+// so they are kept in memory and resolved without touching the database. Callers always get
+// a fresh copy because Category is a mutable entity.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SystemCategoryCatalog {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Map<Long, Category> categoriesById = Map.of();
+
+    @PostConstruct
+    public void reload() {
+        Map<Long, Category> loaded = new LinkedHashMap<>();
+        categoryRepository.findByUserIsNullOrderByTypeAscNameAsc()
+                .forEach(category -> loaded.put(category.getId(), category));
+        categoriesById = loaded;
+        log.info("Loaded {} system categories", loaded.size());
+    }
+
+    public boolean isSystem(Long categoryId) {
+        return categoriesById.containsKey(categoryId);
+    }
+
+    public Optional<Category> find(Long categoryId) {
+        return Optional.ofNullable(categoriesById.get(categoryId)).map(SystemCategoryCatalog::copy);
+    }
+
+    public List<Category> findAll(TransactionType type) {
+        return categoriesById.values().stream()
+                .filter(category -> type == null || category.getType() == type)
+                .map(SystemCategoryCatalog::copy)
+                .toList();
+    }
+
+    public Optional<Category> findByNameAndType(String name, TransactionType type) {
+        return categoriesById.values().stream()
+                .filter(category -> category.getType() == type && category.getName().equals(name))
+                .findFirst()
+                .map(SystemCategoryCatalog::copy);
+    }
+
+    private static Category copy(Category category) {
+        return Category.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .type(category.getType())
+                .color(category.getColor())
+                .icon(category.getIcon())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.fintrack.service;
+
+import com.fintrack.model.RevokedToken;
+import com.fintrack.model.UserTokenRevocation;
+import com.fintrack.repository.RevokedTokenRepository;
+import com.fintrack.repository.UserTokenRevocationRepository;
+import com.fintrack.security.TokenRevocationRegistry;
+import com.fintrack.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Persists revocations (the source of truth shared by all instances) and keeps the in-memory
+// TokenRevocationRegistry in step: a full load at startup and on a slow schedule, plus a
+// cheap incremental sync that picks up revocations made by other instances.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationRegistry registry;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    @Value("${security.revocation.sync-interval:30000}")
+    private long syncIntervalMs;
+
+    private volatile LocalDateTime lastSync;
+
+    @Transactional
+    public void revokeToken(UserPrincipal principal) {
+        String tokenId = principal.getTokenId();
+        if (tokenId == null || principal.getTokenExpiresAt() == null) {
+            log.warn("Access token of user {} has no jti claim, nothing to revoke", principal.getId());
+            return;
+        }
+
+        if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .userId(principal.getId())
+                    .expiresAt(toLocalDateTime(principal.getTokenExpiresAt()))
+                    .build());
+        }
+
+        long expiresAtMs = principal.getTokenExpiresAt().toEpochMilli();
+        afterCommit(() -> registry.revokeToken(tokenId, expiresAtMs));
+        log.info("Revoked access token {} of user {}", tokenId, principal.getId());
+    }
+
+    // Invalidates every access and refresh token issued to the user so far
+    @Transactional
+    public void revokeAllSessions(Long userId) {
+        Instant notBefore = TokenRevocationRegistry.notBefore(Instant.now());
+
+        UserTokenRevocation revocation = userTokenRevocationRepository.findById(userId)
+                .orElseGet(() -> UserTokenRevocation.builder().userId(userId).build());
+        revocation.setNotBefore(toLocalDateTime(notBefore));
+        userTokenRevocationRepository.save(revocation);
+
+        int refreshTokens = refreshTokenService.revokeAll(userId);
+
+        afterCommit(() -> registry.revokeAllBefore(userId, notBefore.toEpochMilli()));
+        log.info("Revoked all sessions of user {} ({} refresh tokens)", userId, refreshTokens);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    // Full rebuild also drops revocations whose tokens can no longer be presented
+    @Scheduled(fixedDelayString = "${security.revocation.rebuild-interval:3600000}",
+               initialDelayString = "${security.revocation.rebuild-interval:3600000}")
+    @Transactional
+    public void rebuild() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Purged {} expired token revocations", deleted);
+        reload();
+    }
+
+    // Re-reads one extra interval so revocations committed late by other instances are not missed
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:30000}",
+               initialDelayString = "${security.revocation.sync-interval:30000}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastSync != null ? lastSync : now).minusNanos(syncIntervalMs * 1_000_000L);
+
+        revokedTokenRepository.findRevokedSince(since, now)
+                .forEach(token -> registry.revokeToken(token.getTokenId(), toEpochMilli(token.getExpiresAt())));
+        userTokenRevocationRepository.findUpdatedSince(since)
+                .forEach(revocation -> registry.revokeAllBefore(revocation.getUserId(),
+                        toEpochMilli(revocation.getNotBefore())));
+
+        lastSync = now;
+    }
+
+    private void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        registry.beginReload();
+
+        Map<String, Long> tokens = revokedTokenRepository.findActive(now).stream()
+                .collect(Collectors.toMap(RevokedToken::getTokenId, token -> toEpochMilli(token.getExpiresAt())));
+        Map<Long, Long> notBefores = userTokenRevocationRepository
+                .findActive(now.minusNanos(jwtExpirationMs * 1_000_000L)).stream()
+                .collect(Collectors.toMap(UserTokenRevocation::getUserId,
+                        revocation -> toEpochMilli(revocation.getNotBefore())));
+
+        registry.replaceAll(tokens, notBefores);
+        lastSync = now;
+        log.info("Loaded {} revoked tokens and {} session cut-offs", tokens.size(), notBefores.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
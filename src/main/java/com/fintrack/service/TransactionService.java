@@ -4,24 +4,27 @@ import com.fintrack.dto.request.TransactionRequest;
 import com.fintrack.dto.response.CategoryResponse;
 import com.fintrack.dto.response.TransactionResponse;
 import com.fintrack.dto.response.TransactionSummaryResponse;
+import com.fintrack.event.TransactionChangedEvent;
 import com.fintrack.exception.BadRequestException;
 import com.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.model.Category;
 import com.fintrack.model.Transaction;
-import com.fintrack.model.User;
 import com.fintrack.model.enums.TransactionType;
-import com.fintrack.repository.CategoryRepository;
+import com.fintrack.repository.TransactionAggregateRepository;
 import com.fintrack.repository.TransactionRepository;
+import com.fintrack.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -29,7 +32,9 @@ import java.time.YearMonth;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final TransactionAggregateRepository transactionAggregateRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserService userService;
 
     @Transactional(readOnly = true)
@@ -39,7 +44,7 @@ public class TransactionService {
                                                          LocalDate endDate,
                                                          String search,
                                                          Pageable pageable) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting transactions for user: {} with filters", currentUser.getEmail());
 
         Page<Transaction> transactions = transactionRepository.findByFilters(
@@ -55,9 +60,17 @@ public class TransactionService {
         return transactions.map(this::mapToTransactionResponse);
     }
 
+    // Takes the user id explicitly so it can run off the request thread
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getRecentTransactions(Long userId, int limit) {
+        return transactionRepository.findRecentByUserId(userId, PageRequest.of(0, limit)).stream()
+                .map(this::mapToTransactionResponse)
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting transaction {} for user: {}", id, currentUser.getEmail());
 
         Transaction transaction = transactionRepository.findByIdAndUserId(id, currentUser.getId())
@@ -68,10 +81,10 @@ public class TransactionService {
 
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Creating transaction for user: {}", currentUser.getEmail());
 
-        Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), currentUser.getId())
+        Category category = categoryService.findAccessibleCategory(request.getCategoryId(), currentUser.getId())
                 .orElseThrow(() -> new BadRequestException("Category not found or does not belong to user"));
 
         // Validate that transaction type matches category type
@@ -80,7 +93,7 @@ public class TransactionService {
         }
 
         Transaction transaction = Transaction.builder()
-                .user(currentUser)
+                .user(userService.getCurrentUserReference())
                 .category(category)
                 .description(request.getDescription())
                 .amount(request.getAmount())
@@ -91,6 +104,7 @@ public class TransactionService {
                 .build();
 
         transaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.created(currentUser.getId(), transaction));
         log.info("Transaction created with id: {}", transaction.getId());
 
         return mapToTransactionResponse(transaction);
@@ -98,13 +112,13 @@ public class TransactionService {
 
     @Transactional
     public TransactionResponse updateTransaction(Long id, TransactionRequest request) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Updating transaction {} for user: {}", id, currentUser.getEmail());
 
         Transaction transaction = transactionRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
-        Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), currentUser.getId())
+        Category category = categoryService.findAccessibleCategory(request.getCategoryId(), currentUser.getId())
                 .orElseThrow(() -> new BadRequestException("Category not found or does not belong to user"));
 
         // Validate that transaction type matches category type
@@ -112,6 +126,8 @@ public class TransactionService {
             throw new BadRequestException("Transaction type must match category type");
         }
 
+        TransactionChangedEvent.Snapshot before = TransactionChangedEvent.Snapshot.of(transaction);
+
         transaction.setCategory(category);
         transaction.setDescription(request.getDescription());
         transaction.setAmount(request.getAmount());
@@ -121,6 +137,7 @@ public class TransactionService {
         transaction.setRecurring(request.getRecurring() != null ? request.getRecurring() : false);
 
         transaction = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(currentUser.getId(), before, transaction));
         log.info("Transaction updated: {}", transaction.getId());
 
         return mapToTransactionResponse(transaction);
@@ -128,19 +145,20 @@ public class TransactionService {
 
     @Transactional
     public void deleteTransaction(Long id) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Deleting transaction {} for user: {}", id, currentUser.getEmail());
 
         Transaction transaction = transactionRepository.findByIdAndUserId(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
 
         transactionRepository.delete(transaction);
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(currentUser.getId(), transaction));
         log.info("Transaction deleted: {}", id);
     }
 
     @Transactional(readOnly = true)
     public TransactionSummaryResponse getTransactionSummary(LocalDate startDate, LocalDate endDate) {
-        User currentUser = userService.getCurrentUserEntity();
+        UserPrincipal currentUser = userService.getCurrentPrincipal();
         log.info("Getting transaction summary for user: {}", currentUser.getEmail());
 
         // If dates not provided, use current month
@@ -150,16 +168,9 @@ public class TransactionService {
             endDate = currentMonth.atEndOfMonth();
         }
 
-        BigDecimal totalIncome = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.INCOME, startDate, endDate);
-
-        BigDecimal totalExpense = transactionRepository.sumByUserAndTypeAndDateBetween(
-                currentUser.getId(), TransactionType.EXPENSE, startDate, endDate);
-
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-
-        long transactionCount = transactionRepository.countByUserAndDateBetween(
-                currentUser.getId(), startDate, endDate);
+        TransactionAggregateRepository.PeriodTotals totals = transactionAggregateRepository.sumByPeriods(
+                currentUser.getId(),
+                List.of(new TransactionAggregateRepository.DateRange(startDate, endDate))).get(0);
 
         TransactionSummaryResponse.PeriodInfo periodInfo = TransactionSummaryResponse.PeriodInfo.builder()
                 .startDate(startDate)
@@ -167,10 +178,10 @@ public class TransactionService {
                 .build();
 
         return TransactionSummaryResponse.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
-                .transactionCount(transactionCount)
+                .totalIncome(totals.income())
+                .totalExpense(totals.expense())
+                .balance(totals.balance())
+                .transactionCount(totals.count())
                 .period(periodInfo)
                 .build();
     }
@@ -0,0 +1,98 @@
+package com.fintrack.service;
+
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.UserBalanceRepository;
+import com.fintrack.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBalanceService {
+
+    private final UserBalanceRepository userBalanceRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reports.balance.reconcile.chunk-size:500}")
+    private int reconcileChunkSize;
+
+    // Runs synchronously in the writer's transaction, so the balance commits or rolls back with it
+    @EventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        BigDecimal incomeDelta = BigDecimal.ZERO;
+        BigDecimal expenseDelta = BigDecimal.ZERO;
+        long countDelta = 0;
+
+        if (event.before() != null) {
+            if (event.before().type() == TransactionType.INCOME) {
+                incomeDelta = incomeDelta.subtract(event.before().amount());
+            } else {
+                expenseDelta = expenseDelta.subtract(event.before().amount());
+            }
+            countDelta--;
+        }
+        if (event.after() != null) {
+            if (event.after().type() == TransactionType.INCOME) {
+                incomeDelta = incomeDelta.add(event.after().amount());
+            } else {
+                expenseDelta = expenseDelta.add(event.after().amount());
+            }
+            countDelta++;
+        }
+
+        if (countDelta != 0 || incomeDelta.signum() != 0 || expenseDelta.signum() != 0) {
+            userBalanceRepository.addDelta(event.userId(), incomeDelta, expenseDelta, countDelta);
+        }
+    }
+
+    public UserBalanceRepository.Totals getTotals(Long userId) {
+        return userBalanceRepository.findTotals(userId);
+    }
+
+    // Compares every balance row with its transactions, one chunk of users at a time, and
+    // recomputes the rows that drifted. Each repair locks the row, so it is safe next to writers.
+    @Scheduled(cron = "${reports.balance.reconcile.cron:0 0 4 * * *}")
+    public int reconcile() {
+        TransactionTemplate repairTransaction = new TransactionTemplate(transactionManager);
+        long afterUserId = 0;
+        int repaired = 0;
+
+        while (true) {
+            long after = afterUserId;
+            List<Long> userIds = userRepository.findIdsAfter(after, PageRequest.of(0, reconcileChunkSize));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long lastUserId = userIds.get(userIds.size() - 1);
+
+            for (Long userId : userBalanceRepository.findDrifted(after, lastUserId)) {
+                repairTransaction.executeWithoutResult(status -> userBalanceRepository.recompute(userId));
+                repaired++;
+            }
+            afterUserId = lastUserId;
+        }
+
+        meterRegistry.counter("reports.balance.repaired").increment(repaired);
+        if (repaired > 0) {
+            log.warn("Balance reconciliation repaired {} users", repaired);
+        } else {
+            log.info("Balance reconciliation found no drift");
+        }
+        return repaired;
+    }
+}
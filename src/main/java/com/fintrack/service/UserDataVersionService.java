@@ -0,0 +1,44 @@
+package com.fintrack.service;
+
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.event.UserDataChangedEvent;
+import com.fintrack.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Per-user data version: one counter on the users row, incremented by every transaction,
+// category or budget write of that user. It commits or rolls back with the write itself.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDataVersionService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void recordWrite(Long userId) {
+        userRepository.incrementDataVersion(userId);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+    }
+
+    // Runs before the rollup and balance listeners, so a transaction write locks its users row
+    // before any aggregate row; the rollup backfill takes its locks in the same order
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        recordWrite(event.userId());
+    }
+
+    // Primary-key lookup of a single column
+    @Transactional(readOnly = true)
+    public long currentVersion(Long userId) {
+        return userRepository.findDataVersionById(userId).orElse(0L);
+    }
+}
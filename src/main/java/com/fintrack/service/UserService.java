@@ -4,12 +4,15 @@ import com.fintrack.dto.response.UserResponse;
 import com.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.model.User;
 import com.fintrack.repository.UserRepository;
+import com.fintrack.security.CurrentUserContext;
+import com.fintrack.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Slf4j
 @Service
@@ -17,31 +20,47 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
 
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser() {
-        String email = getCurrentUserEmail();
-        log.info("Getting current user with email: {}", email);
+        UserPrincipal principal = getCurrentPrincipal();
+        log.info("Getting current user with email: {}", principal.getEmail());
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return mapToUserResponse(user);
+        return mapToUserResponse(getCurrentUserEntity());
     }
 
+    // Loads the full user at most once per HTTP request
     @Transactional(readOnly = true)
     public User getCurrentUserEntity() {
-        String email = getCurrentUserEmail();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Long userId = getCurrentUserId();
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return loadUser(userId);
+        }
+        return currentUserContext.getUser(() -> loadUser(userId));
+    }
+
+    // Lazy proxy for user_id foreign keys; never hits the database
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 
-    private String getCurrentUserEmail() {
+    public UserPrincipal getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
             throw new ResourceNotFoundException("No authenticated user found");
         }
-        return authentication.getName();
+        return principal;
+    }
+
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().getId();
+    }
+
+    private User loadUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     private UserResponse mapToUserResponse(User user) {
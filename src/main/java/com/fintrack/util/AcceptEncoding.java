@@ -0,0 +1,53 @@
+package com.fintrack.util;
+
+import java.util.Locale;
+
+// Reads an Accept-Encoding header as a list of codings with q-values (RFC 9110 12.5.3). An entry
+// with q=0 refuses the coding, and "*" stands for any coding not listed by name.
+public class AcceptEncoding {
+
+    private AcceptEncoding() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : header.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = max(gzip, quality(parts));
+            } else if (coding.equals("*")) {
+                wildcard = max(wildcard, quality(parts));
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    // A malformed q-value counts as a refusal, so such clients get an uncompressed body
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    double q = Double.parseDouble(parameter[1].trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Double max(Double current, double quality) {
+        return current == null ? quality : Math.max(current, quality);
+    }
+}
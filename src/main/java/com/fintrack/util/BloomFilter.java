@@ -0,0 +1,77 @@
+package com.fintrack.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free Bloom filter over strings. Inserts are safe to run concurrently with lookups;
+// a lookup never returns false for a value whose put() has completed.
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.capacity = Math.max(expectedInsertions, 1);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        this.bitCount = (long) bits.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    // FNV-1a over the UTF-16 code units followed by the murmur3 64-bit finalizer
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
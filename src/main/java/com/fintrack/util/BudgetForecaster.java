@@ -0,0 +1,73 @@
+package com.fintrack.util;
+
+// Burn-rate projection of one budget period from its daily expense totals. Blends a linear
+// projection of the current run rate with a seasonal one that assumes the rest of the period
+// follows the shape of the previous period; the seasonal weight fades as the period elapses.
+public class BudgetForecaster {
+
+    // overrunDay is the index into the current period of the day the budget is (or is projected
+    // to be) exceeded, or -1 if it is not
+    public record Forecast(double projectedSpend, int overrunDay, double dailyAllowance) {
+    }
+
+    private BudgetForecaster() {
+        // Private constructor to prevent instantiation
+    }
+
+    // current holds one total per day of the current period, the first elapsedDays of them (today
+    // included) already lived; previous holds the previous period, which may differ in length
+    public static Forecast forecast(double[] current, int elapsedDays, double[] previous,
+                                    double spent, double budget) {
+        int periodDays = current.length;
+        int elapsed = Math.min(Math.max(elapsedDays, 1), periodDays);
+        int daysLeft = periodDays - elapsed;
+
+        double projected = spent + spent / elapsed * daysLeft;
+        double previousTotal = sum(previous, previous.length);
+        if (previousTotal > 0) {
+            // Share of the previous period's spend that had happened by the same relative day
+            int previousElapsed = (int) Math.round((double) elapsed * previous.length / periodDays);
+            double share = sum(previous, previousElapsed) / previousTotal;
+            if (share > 0) {
+                double seasonal = Math.max(spent, spent / share);
+                double weight = (double) elapsed / periodDays;
+                projected = weight * projected + (1 - weight) * seasonal;
+            }
+        }
+
+        double dailyAllowance = Math.max(0, budget - spent) / (daysLeft + 1);
+        return new Forecast(projected, overrunDay(current, elapsed, spent, projected, budget), dailyAllowance);
+    }
+
+    private static int overrunDay(double[] current, int elapsed, double spent, double projected, double budget) {
+        if (budget <= 0) {
+            return -1;
+        }
+        if (spent >= budget) {
+            double cumulative = 0;
+            for (int day = 0; day < elapsed; day++) {
+                cumulative += current[day];
+                if (cumulative >= budget) {
+                    return day;
+                }
+            }
+            return elapsed - 1;
+        }
+
+        int daysLeft = current.length - elapsed;
+        if (projected <= budget || daysLeft == 0) {
+            return -1;
+        }
+        double dailyRate = (projected - spent) / daysLeft;
+        int day = elapsed - 1 + (int) Math.ceil((budget - spent) / dailyRate);
+        return Math.min(day, current.length - 1);
+    }
+
+    private static double sum(double[] values, int count) {
+        double total = 0;
+        for (int i = 0; i < Math.min(count, values.length); i++) {
+            total += values[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,3 @@
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.data_version IS 'Incremented on every transaction, category or budget write of the user; drives report ETags';
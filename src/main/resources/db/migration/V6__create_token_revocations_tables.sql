@@ -0,0 +1,27 @@
+CREATE TABLE revoked_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    token_id VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_revoked_tokens_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uq_revoked_token_id UNIQUE (token_id)
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+CREATE TABLE user_token_revocations (
+    user_id BIGINT PRIMARY KEY,
+    not_before TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_token_revocations_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_token_revocations_updated_at ON user_token_revocations(updated_at);
+
+COMMENT ON TABLE revoked_tokens IS 'Denylist of individually revoked access tokens (logout)';
+COMMENT ON COLUMN revoked_tokens.token_id IS 'jti claim of the revoked access token';
+COMMENT ON COLUMN revoked_tokens.expires_at IS 'Token expiry; rows can be purged once it has passed';
+COMMENT ON TABLE user_token_revocations IS 'Per-user cut-off for logout from all sessions';
+COMMENT ON COLUMN user_token_revocations.not_before IS 'Access tokens issued before this instant are rejected';
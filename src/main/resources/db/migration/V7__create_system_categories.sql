@@ -0,0 +1,68 @@
+-- System categories are shared by every user and have no owner
+ALTER TABLE categories ALTER COLUMN user_id DROP NOT NULL;
+
+CREATE UNIQUE INDEX uq_system_category_name_type ON categories(name, type) WHERE user_id IS NULL;
+
+INSERT INTO categories (user_id, name, type, color, icon) VALUES
+    (NULL, 'Alimentação', 'EXPENSE', '#FF5733', 'utensils'),
+    (NULL, 'Transporte', 'EXPENSE', '#3498DB', 'car'),
+    (NULL, 'Moradia', 'EXPENSE', '#2ECC71', 'home'),
+    (NULL, 'Saúde', 'EXPENSE', '#E74C3C', 'heartbeat'),
+    (NULL, 'Educação', 'EXPENSE', '#9B59B6', 'graduation-cap'),
+    (NULL, 'Lazer', 'EXPENSE', '#F39C12', 'gamepad'),
+    (NULL, 'Outros', 'EXPENSE', '#95A5A6', 'ellipsis'),
+    (NULL, 'Salário', 'INCOME', '#27AE60', 'dollar-sign'),
+    (NULL, 'Freelance', 'INCOME', '#16A085', 'briefcase'),
+    (NULL, 'Investimentos', 'INCOME', '#2980B9', 'chart-line'),
+    (NULL, 'Outros', 'INCOME', '#7F8C8D', 'plus-circle');
+
+CREATE TABLE category_preferences (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    hidden BOOLEAN NOT NULL DEFAULT FALSE,
+    color VARCHAR(7),
+    icon VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_category_preferences_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_category_preferences_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE,
+    CONSTRAINT uq_user_category_preference UNIQUE (user_id, category_id)
+);
+
+-- Per-user copies of the defaults are folded into the system rows; customized colors and
+-- icons survive as preferences
+INSERT INTO category_preferences (user_id, category_id, color, icon)
+SELECT uc.user_id, sc.id, NULLIF(uc.color, sc.color), NULLIF(uc.icon, sc.icon)
+FROM categories uc
+JOIN categories sc ON sc.user_id IS NULL AND sc.name = uc.name AND sc.type = uc.type
+WHERE uc.user_id IS NOT NULL
+  AND (uc.color IS DISTINCT FROM sc.color OR uc.icon IS DISTINCT FROM sc.icon);
+
+-- Every existing user was given a copy of the defaults on registration, so a default without a
+-- copy left was deleted by the user and stays hidden
+INSERT INTO category_preferences (user_id, category_id, hidden)
+SELECT u.id, sc.id, TRUE
+FROM users u
+JOIN categories sc ON sc.user_id IS NULL
+WHERE NOT EXISTS (
+    SELECT 1 FROM categories uc
+    WHERE uc.user_id = u.id AND uc.name = sc.name AND uc.type = sc.type
+);
+
+UPDATE transactions t SET category_id = sc.id
+FROM categories uc
+JOIN categories sc ON sc.user_id IS NULL AND sc.name = uc.name AND sc.type = uc.type
+WHERE t.category_id = uc.id AND uc.user_id IS NOT NULL;
+
+UPDATE budgets b SET category_id = sc.id
+FROM categories uc
+JOIN categories sc ON sc.user_id IS NULL AND sc.name = uc.name AND sc.type = uc.type
+WHERE b.category_id = uc.id AND uc.user_id IS NOT NULL;
+
+DELETE FROM categories uc
+USING categories sc
+WHERE uc.user_id IS NOT NULL AND sc.user_id IS NULL AND sc.name = uc.name AND sc.type = uc.type;
+
+COMMENT ON COLUMN categories.user_id IS 'Owner of the category; NULL for system categories shared by all users';
+COMMENT ON TABLE category_preferences IS 'Per-user overrides (hidden, color, icon) of system categories';
@@ -0,0 +1,29 @@
+CREATE TABLE monthly_rollups (
+    user_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_monthly_rollups PRIMARY KEY (user_id, month_start, category_id, type),
+    CONSTRAINT fk_monthly_rollups_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_monthly_rollups_category FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE,
+    CONSTRAINT chk_monthly_rollup_type CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+
+CREATE INDEX idx_monthly_rollups_user_category ON monthly_rollups(user_id, category_id, month_start);
+
+INSERT INTO monthly_rollups (user_id, month_start, category_id, type, total_amount, transaction_count)
+SELECT t.user_id,
+       CAST(DATE_TRUNC('month', t.date) AS DATE),
+       t.category_id,
+       t.type,
+       SUM(t.amount),
+       COUNT(*)
+FROM transactions t
+GROUP BY t.user_id, CAST(DATE_TRUNC('month', t.date) AS DATE), t.category_id, t.type;
+
+COMMENT ON TABLE monthly_rollups IS 'Per user, month, category and type totals of transactions, maintained on every write';
+COMMENT ON COLUMN monthly_rollups.month_start IS 'First day of the month the totals belong to';
+COMMENT ON COLUMN monthly_rollups.transaction_count IS 'Number of transactions in the bucket; rows may drop to zero';
@@ -0,0 +1,19 @@
+CREATE TABLE user_balances (
+    user_id BIGINT PRIMARY KEY,
+    total_income DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_expense DECIMAL(15,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_balances_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO user_balances (user_id, total_income, total_expense, transaction_count)
+SELECT u.id,
+       COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0),
+       COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0),
+       COUNT(t.id)
+FROM users u
+LEFT JOIN transactions t ON t.user_id = u.id
+GROUP BY u.id;
+
+COMMENT ON TABLE user_balances IS 'All-time income, expense and transaction count per user, incremented on every transaction write';
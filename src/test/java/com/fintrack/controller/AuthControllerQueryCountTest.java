@@ -0,0 +1,29 @@
+package com.fintrack.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should register without creating any category rows")
+    void shouldRegisterWithoutCreatingCategories() throws Exception {
+        String body = """
+                {"name": "Jane Doe", "email": "jane@example.com", "password": "secret123"}
+                """;
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // email check + user insert + refresh token
+        assertThat(sqlStatementCounter.countMatching("insert into categories")).isZero();
+        assertThat(sqlStatementCounter.count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,125 @@
+package com.fintrack.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fintrack.dto.response.BudgetHistoryResponse;
+import com.fintrack.dto.response.BudgetProgressResponse;
+import com.fintrack.model.Budget;
+import com.fintrack.model.Category;
+import com.fintrack.model.enums.BudgetPeriod;
+import com.fintrack.model.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BudgetControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should compute the progress of every budget with one spending query")
+    void shouldComputeBudgetProgressWithOneQuery() throws Exception {
+        Category transport = categoryRepository.save(Category.builder()
+                .user(user)
+                .name("Transport")
+                .type(TransactionType.EXPENSE)
+                .build());
+        saveBudget(category, "100.00", BudgetPeriod.WEEKLY);
+        saveBudget(category, "200.00", BudgetPeriod.MONTHLY);
+        saveBudget(transport, "1000.00", BudgetPeriod.YEARLY);
+        sqlStatementCounter.reset();
+
+        List<BudgetProgressResponse> progress = read(get("/api/budgets/progress"), new TypeReference<>() {
+        });
+
+        // data version + budgets joined to their spending + daily totals for the forecast
+        assertThat(sqlStatementCounter.count()).isEqualTo(3);
+        assertThat(progress).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should build a 24-period budget history for every budget with one query")
+    void shouldBuildBudgetHistoryWithOneQuery() throws Exception {
+        saveBudget(category, "100.00", BudgetPeriod.WEEKLY);
+        saveBudget(category, "200.00", BudgetPeriod.MONTHLY);
+        sqlStatementCounter.reset();
+
+        List<BudgetHistoryResponse> history = read(get("/api/budgets/history").param("periods", "24"),
+                new TypeReference<>() {
+                });
+
+        // data version + budgets joined to their spending per period
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(history).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should sum a weekly history in the same Monday weeks the service reports across New Year")
+    void shouldBucketWeeklyHistoryOnMondaysAcrossYearBoundary() throws Exception {
+        LocalDate newYear = LocalDate.now().withDayOfYear(1);
+        Category gifts = categoryRepository.save(Category.builder()
+                .user(user)
+                .name("Gifts")
+                .type(TransactionType.EXPENSE)
+                .build());
+        budgetRepository.save(Budget.builder()
+                .user(user)
+                .category(gifts)
+                .amount(new BigDecimal("100.00"))
+                .period(BudgetPeriod.WEEKLY)
+                .startDate(newYear.minusYears(1))
+                .build());
+        createExpense("Champagne", "40.00", newYear.minusDays(1), gifts.getId());
+        createExpense("Brunch", "25.00", newYear, gifts.getId());
+        sqlStatementCounter.reset();
+
+        List<BudgetHistoryResponse> history = read(get("/api/budgets/history").param("periods", "60"),
+                new TypeReference<>() {
+                });
+
+        // data version + budgets joined to their spending per period
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        LocalDate newYearWeek = newYear.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        // Both days share a week unless the first of January is itself a Monday
+        BigDecimal expected = newYear.getDayOfWeek() == DayOfWeek.MONDAY
+                ? new BigDecimal("25.00")
+                : new BigDecimal("65.00");
+        assertThat(history).singleElement().satisfies(budget ->
+                assertThat(budget.getPeriods())
+                        .filteredOn(period -> period.getPeriodStart().equals(newYearWeek))
+                        .singleElement()
+                        .satisfies(period -> assertThat(period.getSpentAmount()).isEqualByComparingTo(expected)));
+    }
+
+    @Test
+    @DisplayName("Should reject a budget history beyond the period limit")
+    void shouldRejectOversizedBudgetHistory() throws Exception {
+        mockMvc.perform(authorized(get("/api/budgets/history").param("periods", "61")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should update tracked budget progress in memory after an expense is written")
+    void shouldServeBudgetProgressFromMemoryAfterWrite() throws Exception {
+        saveBudget(category, "200.00", BudgetPeriod.MONTHLY);
+        perform(get("/api/budgets/progress"));
+        createExpense("Dinner", "50.00", LocalDate.now(), category.getId());
+        sqlStatementCounter.reset();
+
+        List<BudgetProgressResponse> progress = read(get("/api/budgets/progress"), new TypeReference<>() {
+        });
+
+        // only the data version lookup
+        assertThat(sqlStatementCounter.count()).isEqualTo(1);
+        assertThat(progress).singleElement().satisfies(budget -> {
+            assertThat(budget.getSpentAmount()).isEqualByComparingTo("170.00");
+            assertThat(budget.getStatus()).isEqualTo(BudgetProgressResponse.BudgetStatus.WARNING);
+        });
+    }
+}
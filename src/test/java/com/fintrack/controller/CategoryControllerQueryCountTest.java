@@ -0,0 +1,51 @@
+package com.fintrack.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fintrack.dto.response.CategoryResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CategoryControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should list categories without looking up the user")
+    void shouldListCategoriesWithoutUserLookup() throws Exception {
+        perform(get("/api/categories"));
+
+        // data version + user preferences + own categories; system categories come from memory
+        assertThat(userLoads()).isZero();
+        assertThat(sqlStatementCounter.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should change the ETag once the user writes a category")
+    void shouldChangeEtagAfterWrite() throws Exception {
+        String etag = mockMvc.perform(authorized(get("/api/categories")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(authorized(post("/api/categories"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Pets", "type": "EXPENSE"}
+                                """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(authorized(get("/api/categories")).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+
+        List<CategoryResponse> categories = read(get("/api/categories"), new TypeReference<>() {
+        });
+        assertThat(categories).extracting(CategoryResponse::getName).contains("Pets");
+    }
+}
@@ -0,0 +1,76 @@
+package com.fintrack.controller;
+
+import com.fintrack.dto.response.BudgetProgressResponse.BudgetStatus;
+import com.fintrack.dto.response.BudgetStatusUpdate;
+import com.fintrack.dto.response.MonthTotalsUpdate;
+import com.fintrack.model.enums.BudgetPeriod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class LiveUpdateControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should push budget status and month totals to a live stream without extra queries")
+    void shouldPushLiveUpdatesWithoutExtraQueries() throws Exception {
+        saveBudget(category, "125.00", BudgetPeriod.MONTHLY);
+        MvcResult stream = mockMvc.perform(authorized(get("/api/live")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        sqlStatementCounter.reset();
+
+        createExpense("Dinner", "10.00", LocalDate.now(), category.getId());
+
+        // same statements as any other transaction create
+        assertThat(sqlStatementCounter.count()).isEqualTo(5);
+        String content = awaitContent(stream, "event:month-totals", "event:budget-status");
+        assertThat(events(content, "month-totals", MonthTotalsUpdate.class)).singleElement().satisfies(update -> {
+            assertThat(update.getMonth()).isEqualTo(YearMonth.now().toString());
+            assertThat(update.getExpenseDelta()).isEqualByComparingTo("10.00");
+        });
+        assertThat(events(content, "budget-status", BudgetStatusUpdate.class)).singleElement().satisfies(update -> {
+            assertThat(update.getPreviousStatus()).isEqualTo(BudgetStatus.WARNING);
+            assertThat(update.getStatus()).isEqualTo(BudgetStatus.EXCEEDED);
+        });
+    }
+
+    // Payloads of the named events in a raw text/event-stream body
+    private <T> List<T> events(String content, String name, Class<T> type) throws Exception {
+        List<T> payloads = new ArrayList<>();
+        for (String block : content.split("\n\n")) {
+            if (!block.contains("event:" + name + "\n")) {
+                continue;
+            }
+            for (String line : block.split("\n")) {
+                if (line.startsWith("data:")) {
+                    payloads.add(objectMapper.readValue(line.substring("data:".length()), type));
+                }
+            }
+        }
+        return payloads;
+    }
+
+    private String awaitContent(MvcResult result, String... expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (!containsAll(content, expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    private boolean containsAll(String content, String... expected) {
+        return Arrays.stream(expected).allMatch(content::contains);
+    }
+}
@@ -0,0 +1,101 @@
+package com.fintrack.controller;
+
+import com.fintrack.model.User;
+import com.fintrack.repository.RevokedTokenRepository;
+import com.fintrack.repository.UserRepository;
+import com.fintrack.repository.UserTokenRevocationRepository;
+import com.fintrack.security.JwtTokenProvider;
+import com.fintrack.security.TokenRevocationRegistry;
+import com.fintrack.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LogoutIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserTokenRevocationRepository userTokenRevocationRepository;
+
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .password("encodedPassword")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAll();
+        userTokenRevocationRepository.deleteAll();
+        userRepository.deleteAll();
+        revocationRegistry.replaceAll(Map.of(), Map.of());
+    }
+
+    @Test
+    @DisplayName("Should reject the access token after logout but keep other sessions")
+    void shouldRejectTokenAfterLogout() throws Exception {
+        // Given
+        String token = tokenProvider.generateToken(UserPrincipal.from(user));
+        String otherSession = tokenProvider.generateToken(UserPrincipal.from(user));
+
+        // When
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + otherSession))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject every previously issued token after logout from all sessions")
+    void shouldRejectAllTokensAfterLogoutAll() throws Exception {
+        // Given
+        String token = tokenProvider.generateToken(UserPrincipal.from(user));
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 10);
+
+        // When
+        mockMvc.perform(post("/api/auth/logout-all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
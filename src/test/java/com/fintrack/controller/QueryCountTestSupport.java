@@ -0,0 +1,184 @@
+package com.fintrack.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.model.Budget;
+import com.fintrack.model.Category;
+import com.fintrack.model.Transaction;
+import com.fintrack.model.User;
+import com.fintrack.model.enums.BudgetPeriod;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.BudgetRepository;
+import com.fintrack.repository.CategoryRepository;
+import com.fintrack.repository.RefreshTokenRepository;
+import com.fintrack.repository.TransactionRepository;
+import com.fintrack.repository.UserRepository;
+import com.fintrack.security.JwtTokenProvider;
+import com.fintrack.security.UserPrincipal;
+import com.fintrack.service.MonthlyRollupService;
+import com.fintrack.service.SystemCategoryCatalog;
+import com.fintrack.service.UserBalanceService;
+import com.fintrack.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Shared fixture of the per-controller query-count tests: one user with a "Food" category and a
+// 120.00 expense today, rollups and balance built, and a counter reset right before each test.
+// Subclasses assert how many statements a request costs; behavior is covered by service tests.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(SqlStatementCounter.Config.class)
+abstract class QueryCountTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected TransactionRepository transactionRepository;
+
+    @Autowired
+    protected BudgetRepository budgetRepository;
+
+    @Autowired
+    protected SystemCategoryCatalog systemCategoryCatalog;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private UserBalanceService userBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    protected String token;
+    protected User user;
+    protected Category category;
+
+    @BeforeEach
+    void setUpFixture() {
+        user = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .password("encodedPassword")
+                .build());
+
+        category = categoryRepository.save(Category.builder()
+                .user(user)
+                .name("Food")
+                .type(TransactionType.EXPENSE)
+                .build());
+
+        transactionRepository.save(Transaction.builder()
+                .user(user)
+                .category(category)
+                .description("Groceries")
+                .amount(new BigDecimal("120.00"))
+                .type(TransactionType.EXPENSE)
+                .date(LocalDate.now())
+                .build());
+
+        // Saved through the repository, so rollups and balances are built the way a backfill
+        // and a reconciliation run would
+        monthlyRollupService.backfillAll();
+        userBalanceService.reconcile();
+
+        token = tokenProvider.generateToken(UserPrincipal.from(user));
+        sqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDownFixture() {
+        jdbcTemplate.update("DELETE FROM monthly_rollups");
+        jdbcTemplate.update("DELETE FROM user_balances");
+        transactionRepository.deleteAll();
+        budgetRepository.deleteAll();
+        categoryRepository.deleteAll();
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+        systemCategoryCatalog.reload();
+    }
+
+    // Statements that read user rows other than the single-column data version lookup
+    protected long userLoads() {
+        return sqlStatementCounter.countMatching("from users") - sqlStatementCounter.countMatching("data_version");
+    }
+
+    protected void saveBudget(Category budgetCategory, String amount, BudgetPeriod period) {
+        budgetRepository.save(Budget.builder()
+                .user(user)
+                .category(budgetCategory)
+                .amount(new BigDecimal(amount))
+                .period(period)
+                .startDate(LocalDate.now().withDayOfYear(1))
+                .build());
+    }
+
+    protected void createExpense(String description, String amount, LocalDate date, Long categoryId) throws Exception {
+        String body = """
+                {"description": "%s", "amount": %s, "type": "EXPENSE",
+                 "date": "%s", "categoryId": %d}
+                """.formatted(description, amount, date, categoryId);
+        mockMvc.perform(authorized(post("/api/transactions"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+
+    protected void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(authorized(request)).andExpect(status().isOk());
+    }
+
+    // Performs an authorized request that must succeed and reads its body as the given type
+    protected <T> T read(MockHttpServletRequestBuilder request, Class<T> type) throws Exception {
+        return objectMapper.readValue(content(request), type);
+    }
+
+    protected <T> T read(MockHttpServletRequestBuilder request, TypeReference<T> type) throws Exception {
+        return objectMapper.readValue(content(request), type);
+    }
+
+    private String content(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(authorized(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    protected MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,210 @@
+package com.fintrack.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fintrack.dto.response.CategoryMatrixResponse;
+import com.fintrack.dto.response.FinancialOverviewResponse;
+import com.fintrack.dto.response.MonthSummaryResponse;
+import com.fintrack.dto.response.MonthlyEvolutionResponse;
+import com.fintrack.dto.response.TimeSeriesPointResponse;
+import com.fintrack.security.UserPrincipal;
+import com.fintrack.service.ReportWarmupService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReportControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Autowired
+    private ReportWarmupService reportWarmupService;
+
+    @Test
+    @DisplayName("Should build the financial overview without looking up the user")
+    void shouldBuildOverviewWithoutUserLookup() throws Exception {
+        FinancialOverviewResponse overview = read(get("/api/reports/overview"), FinancialOverviewResponse.class);
+
+        // data version, then month totals, category summary, recent transactions with categories,
+        // balance row
+        assertThat(userLoads()).isZero();
+        assertThat(sqlStatementCounter.countMatching("from user_balances")).isEqualTo(1);
+        assertThat(sqlStatementCounter.count()).isEqualTo(5);
+        assertThat(overview.getUnavailableParts()).isEmpty();
+        assertThat(overview.getTotalAllTime().getExpense()).isEqualByComparingTo("120.00");
+    }
+
+    @Test
+    @DisplayName("Should compare current and previous month with one rollup query")
+    void shouldBuildMonthSummaryWithOneQuery() throws Exception {
+        perform(get("/api/reports/month-summary"));
+
+        // data version + rollups
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should build a two-year monthly evolution with one rollup query")
+    void shouldBuildMonthlyEvolutionWithOneQuery() throws Exception {
+        List<MonthlyEvolutionResponse> evolution = read(get("/api/reports/monthly-evolution").param("months", "24"),
+                new TypeReference<>() {
+                });
+
+        // data version + rollups
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(evolution).hasSize(24);
+    }
+
+    @Test
+    @DisplayName("Should build a twelve-month category matrix with one rollup query")
+    void shouldBuildCategoryMatrixWithOneQuery() throws Exception {
+        CategoryMatrixResponse matrix = read(get("/api/reports/category-matrix"), CategoryMatrixResponse.class);
+
+        // data version + rollups
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(matrix.getMonths()).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated report from the cache with only the data version lookup")
+    void shouldServeRepeatedReportFromCache() throws Exception {
+        perform(get("/api/reports/monthly-evolution").param("months", "24"));
+        sqlStatementCounter.reset();
+
+        perform(get("/api/reports/monthly-evolution").param("months", "24"));
+
+        assertThat(sqlStatementCounter.count()).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("data_version")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the dashboard reports from the cache after a warm-up")
+    void shouldServeWarmedReportsFromCache() throws Exception {
+        reportWarmupService.warm(UserPrincipal.from(user));
+        sqlStatementCounter.reset();
+
+        perform(get("/api/reports/month-summary"));
+        perform(get("/api/reports/category-summary"));
+        perform(get("/api/budgets/progress"));
+
+        // only the data version lookup of each request
+        assertThat(sqlStatementCounter.count()).isEqualTo(3);
+        assertThat(sqlStatementCounter.countMatching("data_version")).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should send gzip-compressed cached reports to clients that accept gzip")
+    void shouldServeCompressedReportToGzipClients() throws Exception {
+        mockMvc.perform(authorized(get("/api/reports/monthly-evolution").param("months", "24"))
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    @DisplayName("Should send an uncompressed body and a plain ETag to clients that refuse gzip")
+    void shouldServeUncompressedReportWhenGzipRefused() throws Exception {
+        mockMvc.perform(authorized(get("/api/reports/monthly-evolution").param("months", "24"))
+                        .header("Accept-Encoding", "identity, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", not(endsWith("-gzip\""))));
+    }
+
+    @Test
+    @DisplayName("Should recompute cached reports after the user writes a transaction")
+    void shouldInvalidateCachedReportsOnTransactionWrite() throws Exception {
+        perform(get("/api/reports/month-summary"));
+        createExpense("Lunch", "30.00", LocalDate.now(), category.getId());
+        sqlStatementCounter.reset();
+
+        MonthSummaryResponse summary = read(get("/api/reports/month-summary"), MonthSummaryResponse.class);
+
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    @DisplayName("Should answer an unchanged conditional GET with 304 after a single version lookup")
+    void shouldAnswerNotModifiedWhenDataVersionUnchanged() throws Exception {
+        String etag = mockMvc.perform(authorized(get("/api/reports/overview")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "private, no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+        sqlStatementCounter.reset();
+
+        mockMvc.perform(authorized(get("/api/reports/overview")).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        assertThat(sqlStatementCounter.count()).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("data_version")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream a daily time series from one aggregate query")
+    void shouldStreamDailyTimeSeriesWithOneQuery() throws Exception {
+        LocalDate today = LocalDate.now();
+
+        List<TimeSeriesPointResponse> points = readStreamed(get("/api/reports/timeseries")
+                .param("startDate", today.minusDays(6).toString())
+                .param("endDate", today.toString())
+                .param("bucket", "DAY"));
+
+        // data version + daily totals
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(points).hasSize(7);
+    }
+
+    @Test
+    @DisplayName("Should read a whole-month time series grouped by category from the rollups")
+    void shouldStreamMonthlyTimeSeriesFromRollups() throws Exception {
+        YearMonth month = YearMonth.now();
+
+        List<TimeSeriesPointResponse> points = readStreamed(get("/api/reports/timeseries")
+                .param("startDate", month.minusMonths(2).atDay(1).toString())
+                .param("endDate", month.atEndOfMonth().toString())
+                .param("groupByCategory", "true"));
+
+        assertThat(sqlStatementCounter.countMatching("from monthly_rollups")).isEqualTo(1);
+        assertThat(points).filteredOn(point -> point.getExpense().signum() > 0)
+                .singleElement()
+                .satisfies(point -> {
+                    assertThat(point.getCategoryName()).isEqualTo("Food");
+                    assertThat(point.getExpense()).isEqualByComparingTo(new BigDecimal("120.00"));
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject a time series with too many buckets before streaming")
+    void shouldRejectOversizedTimeSeries() throws Exception {
+        mockMvc.perform(authorized(get("/api/reports/timeseries")
+                        .param("startDate", "2000-01-01")
+                        .param("endDate", "2020-12-31")
+                        .param("bucket", "DAY")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<TimeSeriesPointResponse> readStreamed(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(authorized(request))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String json = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, new TypeReference<>() {
+        });
+    }
+}
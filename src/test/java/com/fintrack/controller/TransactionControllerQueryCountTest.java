@@ -0,0 +1,78 @@
+package com.fintrack.controller;
+
+import com.fintrack.dto.response.TransactionSummaryResponse;
+import com.fintrack.model.Category;
+import com.fintrack.model.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should list transactions without looking up the user")
+    void shouldListTransactionsWithoutUserLookup() throws Exception {
+        perform(get("/api/transactions"));
+
+        // data version + page query + lazy category load
+        assertThat(userLoads()).isZero();
+        assertThat(sqlStatementCounter.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should summarize transactions with one conditional-aggregate query")
+    void shouldBuildTransactionSummaryWithOneQuery() throws Exception {
+        TransactionSummaryResponse summary = read(get("/api/transactions/summary"), TransactionSummaryResponse.class);
+
+        // data version + aggregate
+        assertThat(sqlStatementCounter.count()).isEqualTo(2);
+        assertThat(summary.getTransactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should create a transaction using a user reference instead of loading the user")
+    void shouldCreateTransactionWithUserReference() throws Exception {
+        createExpense("Lunch", "35.50", LocalDate.now(), category.getId());
+
+        // category ownership check + insert + rollup bucket update + balance and version increments
+        assertThat(sqlStatementCounter.countMatching("from users")).isZero();
+        assertThat(sqlStatementCounter.countMatching("update monthly_rollups")).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("update user_balances")).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("update users")).isEqualTo(1);
+        assertThat(sqlStatementCounter.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should resolve a system category from memory when creating a transaction")
+    void shouldCreateTransactionWithSystemCategory() throws Exception {
+        Category salary = categoryRepository.save(Category.builder()
+                .name("Salário")
+                .type(TransactionType.INCOME)
+                .build());
+        systemCategoryCatalog.reload();
+        sqlStatementCounter.reset();
+
+        String body = """
+                {"description": "Paycheck", "amount": 5000.00, "type": "INCOME",
+                 "date": "%s", "categoryId": %d}
+                """.formatted(LocalDate.now(), salary.getId());
+
+        mockMvc.perform(authorized(post("/api/transactions"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // hidden-preference check + insert + new rollup bucket (update misses, insert) + balance and
+        // version increments: the shared category itself is not loaded
+        assertThat(sqlStatementCounter.countMatching("insert into monthly_rollups")).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("from categories")).isZero();
+        assertThat(sqlStatementCounter.count()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fintrack.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class UserControllerQueryCountTest extends QueryCountTestSupport {
+
+    @Test
+    @DisplayName("Should load the user once for /api/users/me")
+    void shouldLoadUserOnceForCurrentUser() throws Exception {
+        perform(get("/api/users/me"));
+
+        assertThat(sqlStatementCounter.count()).isEqualTo(1);
+        assertThat(sqlStatementCounter.countMatching("from users")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,104 @@
+package com.fintrack.security;
+
+import com.fintrack.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delegate encode and matches to the wrapped encoder")
+    void shouldDelegateToWrappedEncoder() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(null), 1, 1, 1000);
+
+        // When & Then
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.matches("other", "hashed:secret")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject hashing with 503 when the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given: one worker busy and one task queued
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(release), 1, 1, 5000);
+        callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> encoder.encode("queued"));
+        waitForQueuedTask();
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when hashing exceeds the timeout")
+    void shouldFailWhenHashingTimesOut() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(release), 1, 1, 50);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("slow"))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        // the queued caller has no observable side effect, so give it a moment to be enqueued
+        Thread.sleep(200);
+    }
+
+    private class PrefixEncoder implements PasswordEncoder {
+
+        private final CountDownLatch gate;
+
+        PrefixEncoder(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (gate != null) {
+                started.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
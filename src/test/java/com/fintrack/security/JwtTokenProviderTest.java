@@ -0,0 +1,113 @@
+package com.fintrack.security;
+
+import com.fintrack.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-for-jwt-token-generation-minimum-256-bits-required-for-testing";
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = createProvider(SECRET, 3600000L);
+
+        UserPrincipal principal = new UserPrincipal(1L, "john@example.com", "encodedPassword", UserRole.USER);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should resolve claims from a valid token")
+    void shouldResolveClaimsFromValidToken() {
+        // Given
+        String token = tokenProvider.generateToken(authentication);
+
+        // When
+        Optional<Claims> claims = tokenProvider.resolveClaims(token);
+
+        // Then
+        assertThat(claims).isPresent();
+        assertThat(claims.get().getSubject()).isEqualTo("john@example.com");
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        assertThat(tokenProvider.getUsernameFromToken(token)).isEqualTo("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should build principal from token claims")
+    void shouldBuildPrincipalFromTokenClaims() {
+        // Given
+        String token = tokenProvider.generateToken(authentication);
+        Claims claims = tokenProvider.resolveClaims(token).orElseThrow();
+
+        // When
+        Optional<UserPrincipal> principal = tokenProvider.getPrincipalFromClaims(claims);
+
+        // Then
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getId()).isEqualTo(1L);
+        assertThat(principal.get().getEmail()).isEqualTo("john@example.com");
+        assertThat(principal.get().getRole()).isEqualTo(UserRole.USER);
+        assertThat(principal.get().getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should return cached claims for repeated verification of the same token")
+    void shouldReturnCachedClaimsForRepeatedVerification() {
+        // Given
+        String token = tokenProvider.generateToken(authentication);
+
+        // When
+        Claims first = tokenProvider.resolveClaims(token).orElseThrow();
+        Claims second = tokenProvider.resolveClaims(token).orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with a different key")
+    void shouldRejectTokenSignedWithDifferentKey() {
+        // Given
+        JwtTokenProvider otherProvider = createProvider(SECRET.replace("test", "other"), 3600000L);
+        String token = otherProvider.generateToken(authentication);
+
+        // When & Then
+        assertThat(tokenProvider.resolveClaims(token)).isEmpty();
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject expired and malformed tokens")
+    void shouldRejectExpiredAndMalformedTokens() {
+        // Given
+        JwtTokenProvider expiringProvider = createProvider(SECRET, -1000L);
+        String expiredToken = expiringProvider.generateToken(authentication);
+
+        // When & Then
+        assertThat(tokenProvider.resolveClaims(expiredToken)).isEmpty();
+        assertThat(tokenProvider.resolveClaims("not-a-jwt")).isEmpty();
+        assertThat(tokenProvider.resolveClaims("")).isEmpty();
+    }
+
+    private JwtTokenProvider createProvider(String secret, long expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(provider, "verificationCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(provider, "verificationCacheTtlMs", 300000L);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,108 @@
+package com.fintrack.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationRegistryTest {
+
+    private static final long EXPIRES_AT = System.currentTimeMillis() + 3_600_000;
+
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry(16, 0.01);
+
+    @Test
+    @DisplayName("Should reject a revoked token id and accept others")
+    void shouldRejectRevokedTokenId() {
+        // Given
+        registry.revokeToken("revoked", EXPIRES_AT);
+
+        // When & Then
+        assertThat(registry.isRevoked("revoked", 1L, new Date())).isTrue();
+        assertThat(registry.isRevoked("live", 1L, new Date())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before the user's cut-off")
+    void shouldRejectTokensIssuedBeforeCutoff() {
+        // Given
+        long cutoff = System.currentTimeMillis();
+        registry.revokeAllBefore(1L, cutoff);
+
+        // When & Then
+        assertThat(registry.isRevoked("old", 1L, new Date(cutoff - 1000))).isTrue();
+        assertThat(registry.isRevoked("new", 1L, new Date(cutoff))).isFalse();
+        assertThat(registry.isRevoked("other", 2L, new Date(cutoff - 1000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject a token issued earlier in the same second as the revoke-all")
+    void shouldRejectTokenIssuedInSameSecondAsCutoff() {
+        // Given: the token's iat carries whole seconds only
+        Instant revokedAt = Instant.parse("2026-03-01T12:00:00.700Z");
+        Date issuedAt = Date.from(Instant.parse("2026-03-01T12:00:00.200Z").truncatedTo(ChronoUnit.SECONDS));
+        registry.revokeAllBefore(1L, TokenRevocationRegistry.notBefore(revokedAt).toEpochMilli());
+
+        // When & Then
+        assertThat(registry.isRevoked("same-second", 1L, issuedAt)).isTrue();
+        assertThat(registry.isRevoked("next-second", 1L, Date.from(Instant.parse("2026-03-01T12:00:01Z"))))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep finding every revoked id after growing past the filter capacity")
+    void shouldGrowPastFilterCapacity() {
+        // Given
+        Map<String, Long> revoked = IntStream.range(0, 100)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .collect(Collectors.toMap(id -> id, id -> EXPIRES_AT));
+
+        // When
+        revoked.keySet().forEach(id -> registry.revokeToken(id, EXPIRES_AT));
+
+        // Then
+        assertThat(revoked.keySet()).allMatch(id -> registry.isRevoked(id, null, null));
+        assertThat(registry.isRevoked(UUID.randomUUID().toString(), null, null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replace previous state on full reload")
+    void shouldReplaceStateOnReload() {
+        // Given
+        registry.revokeToken("stale", EXPIRES_AT);
+
+        // When
+        registry.replaceAll(Map.of("fresh", EXPIRES_AT), Map.of(3L, System.currentTimeMillis()));
+
+        // Then
+        assertThat(registry.isRevoked("stale", null, null)).isFalse();
+        assertThat(registry.isRevoked("fresh", null, null)).isTrue();
+        assertThat(registry.isRevoked(null, 3L, new Date(0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep revocations made while a reload was reading the database")
+    void shouldKeepRevocationsMadeDuringReload() {
+        // Given
+        long cutoff = System.currentTimeMillis();
+        registry.beginReload();
+        registry.revokeToken("during", EXPIRES_AT);
+        registry.revokeAllBefore(4L, cutoff);
+
+        // When
+        registry.replaceAll(Map.of("loaded", EXPIRES_AT), Map.of());
+
+        // Then
+        assertThat(registry.isRevoked("during", null, null)).isTrue();
+        assertThat(registry.isRevoked("loaded", null, null)).isTrue();
+        assertThat(registry.isRevoked(null, 4L, new Date(cutoff - 1000))).isTrue();
+    }
+}
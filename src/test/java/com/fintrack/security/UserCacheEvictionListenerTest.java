@@ -0,0 +1,95 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import com.fintrack.model.enums.UserRole;
+import com.fintrack.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserCacheEvictionListenerTest {
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        user = userRepository.save(User.builder()
+                .name("John Doe")
+                .email("john@example.com")
+                .password("encodedPassword")
+                .build());
+        userCache.evictLocal(user.getEmail());
+        // Warm the cache with the row as it is now
+        assertThat(userCache.findByEmail(user.getEmail())).get()
+                .satisfies(cached -> assertThat(cached.getRole()).isEqualTo(UserRole.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        userCache.evictLocal("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should evict a user whose role changed, but only once the update commits")
+    void shouldEvictAfterCommitWhenRoleChanges() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setRole(UserRole.ADMIN);
+            userRepository.flush();
+
+            // Then: the update has run but not committed, so the cached row stays
+            assertThat(userCache.findByEmail(user.getEmail())).get()
+                    .satisfies(cached -> assertThat(cached.getRole()).isEqualTo(UserRole.USER));
+        });
+
+        // Then
+        assertThat(userCache.findByEmail(user.getEmail())).get()
+                .satisfies(cached -> assertThat(cached.getRole()).isEqualTo(UserRole.ADMIN));
+    }
+
+    @Test
+    @DisplayName("Should evict a user whose password changed")
+    void shouldEvictWhenPasswordChanges() {
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setPassword("newEncodedPassword"));
+
+        // Then
+        assertThat(userCache.findByEmail(user.getEmail())).get()
+                .satisfies(cached -> assertThat(cached.getPassword()).isEqualTo("newEncodedPassword"));
+    }
+
+    @Test
+    @DisplayName("Should evict a removed user")
+    void shouldEvictWhenUserRemoved() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> userRepository.deleteById(user.getId()));
+
+        // Then
+        assertThat(userCache.findByEmail(user.getEmail())).isEmpty();
+    }
+}
@@ -0,0 +1,158 @@
+package com.fintrack.security;
+
+import com.fintrack.model.User;
+import com.fintrack.model.enums.UserRole;
+import com.fintrack.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    private static final long TTL_MS = 600_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCacheInvalidationNotifier invalidationNotifier;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("Should serve a hit from the cache as a copy callers cannot corrupt")
+    void shouldServeDefensiveCopyOnHit() {
+        // Given
+        UserCache userCache = userCache(10);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user("john@example.com")));
+        User first = userCache.findByEmail("john@example.com").orElseThrow();
+
+        // When
+        first.setRole(UserRole.ADMIN);
+        first.setPassword("tampered");
+        User second = userCache.findByEmail("john@example.com").orElseThrow();
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getRole()).isEqualTo(UserRole.USER);
+        assertThat(second.getPassword()).isEqualTo("encodedPassword");
+        verify(userRepository, times(1)).findByEmail("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should not let the loaded entity alias the cached copy")
+    void shouldCopyLoadedEntityIntoCache() {
+        // Given
+        User loaded = user("john@example.com");
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(loaded));
+        UserCache userCache = userCache(10);
+        userCache.findByEmail("john@example.com");
+
+        // When
+        loaded.setRole(UserRole.ADMIN);
+
+        // Then
+        assertThat(userCache.findByEmail("john@example.com")).get()
+                .satisfies(user -> assertThat(user.getRole()).isEqualTo(UserRole.USER));
+    }
+
+    @Test
+    @DisplayName("Should reload a user once the ttl has passed")
+    void shouldReloadAfterTtl() {
+        // Given
+        UserCache userCache = userCache(10);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user("john@example.com")));
+        userCache.findByEmail("john@example.com");
+
+        // When
+        advance(Duration.ofMillis(TTL_MS - 1));
+        userCache.findByEmail("john@example.com");
+        advance(Duration.ofMillis(1));
+        userCache.findByEmail("john@example.com");
+
+        // Then: still fresh one millisecond before the ttl, reloaded at the ttl
+        verify(userRepository, times(2)).findByEmail("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently loaded users beyond the maximum size")
+    void shouldEvictBeyondMaximumSize() {
+        // Given
+        UserCache userCache = userCache(1);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user("john@example.com")));
+        when(userRepository.findByEmail("jane@example.com")).thenReturn(Optional.of(user("jane@example.com")));
+        userCache.findByEmail("john@example.com");
+
+        // When
+        userCache.findByEmail("jane@example.com");
+        userCache.findByEmail("john@example.com");
+
+        // Then
+        verify(userRepository, times(2)).findByEmail("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing user")
+    void shouldNotCacheMissingUser() {
+        // Given
+        UserCache userCache = userCache(10);
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When
+        userCache.findByEmail("ghost@example.com");
+        Optional<User> result = userCache.findByEmail("ghost@example.com");
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload after an eviction and tell the other nodes")
+    void shouldReloadAfterEvict() {
+        // Given
+        UserCache userCache = userCache(10);
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(user("john@example.com")));
+        userCache.findByEmail("john@example.com");
+
+        // When
+        userCache.evict("john@example.com");
+        userCache.findByEmail("john@example.com");
+
+        // Then
+        verify(invalidationNotifier).userInvalidated("john@example.com");
+        verify(userRepository, times(2)).findByEmail("john@example.com");
+    }
+
+    private UserCache userCache(long maxSize) {
+        return new UserCache(userRepository, invalidationNotifier, new SimpleMeterRegistry(), maxSize, TTL_MS,
+                nanos::get, Runnable::run);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .id(1L)
+                .name("John Doe")
+                .email(email)
+                .password("encodedPassword")
+                .role(UserRole.USER)
+                .build();
+    }
+}
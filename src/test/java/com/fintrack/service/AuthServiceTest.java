@@ -1,6 +1,7 @@
 package com.fintrack.service;
 
 import com.fintrack.dto.request.LoginRequest;
+import com.fintrack.dto.request.RefreshTokenRequest;
 import com.fintrack.dto.request.RegisterRequest;
 import com.fintrack.dto.response.AuthResponse;
 import com.fintrack.exception.BadRequestException;
@@ -8,10 +9,12 @@ import com.fintrack.model.User;
 import com.fintrack.model.enums.UserRole;
 import com.fintrack.repository.UserRepository;
 import com.fintrack.security.JwtTokenProvider;
+import com.fintrack.security.UserCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -20,6 +23,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
@@ -44,7 +48,16 @@ class AuthServiceTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private CategoryService categoryService;
+    private UserCache userCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private ReportWarmupService reportWarmupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private AuthService authService;
@@ -83,7 +96,6 @@ class AuthServiceTest {
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("test-token");
-        doNothing().when(categoryService).createDefaultCategories(any(User.class));
 
         // When
         AuthResponse response = authService.register(registerRequest);
@@ -98,7 +110,28 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail("john@example.com");
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
-        verify(categoryService).createDefaultCategories(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should hash the password before the registration transaction starts")
+    void shouldHashPasswordOutsideRegistrationTransaction() {
+        // Given
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
+
+        // When
+        AuthResponse response = authService.register(registerRequest);
+
+        // Then
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager, userRepository, refreshTokenService);
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(argThat(saved -> saved.getPassword().equals("encodedPassword")));
+        inOrder.verify(refreshTokenService).issue(1L);
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
     }
 
     @Test
@@ -124,7 +157,7 @@ class AuthServiceTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("test-token");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+        when(userCache.findByEmail(anyString())).thenReturn(Optional.of(user));
 
         // When
         AuthResponse response = authService.login(loginRequest);
@@ -137,6 +170,26 @@ class AuthServiceTest {
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(tokenProvider).generateToken(authentication);
-        verify(userRepository).findByEmail("john@example.com");
+        verify(userCache).findByEmail("john@example.com");
+    }
+
+    @Test
+    @DisplayName("Should refresh token without loading user details or checking the password")
+    void shouldRefreshTokenWithoutPasswordCheck() {
+        // Given
+        RefreshTokenRequest refreshRequest = new RefreshTokenRequest("old-refresh-token");
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RefreshTokenService.RotatedToken(user, "new-refresh-token"));
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("test-token");
+
+        // When
+        AuthResponse response = authService.refresh(refreshRequest);
+
+        // Then
+        assertThat(response.getToken()).isEqualTo("test-token");
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh-token");
+        assertThat(response.getUser().getEmail()).isEqualTo("john@example.com");
+
+        verifyNoInteractions(authenticationManager, passwordEncoder, userCache);
     }
 }
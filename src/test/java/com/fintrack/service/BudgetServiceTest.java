@@ -0,0 +1,182 @@
+package com.fintrack.service;
+
+import com.fintrack.dto.response.BudgetHistoryResponse;
+import com.fintrack.dto.response.BudgetProgressResponse.BudgetStatus;
+import com.fintrack.exception.BadRequestException;
+import com.fintrack.model.enums.BudgetPeriod;
+import com.fintrack.model.enums.UserRole;
+import com.fintrack.repository.BudgetProgressRepository;
+import com.fintrack.repository.BudgetProgressRepository.BudgetHistory;
+import com.fintrack.repository.BudgetRepository;
+import com.fintrack.security.UserPrincipal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetServiceTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private BudgetTrackerService budgetTrackerService;
+
+    @Mock
+    private BudgetProgressRepository budgetProgressRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
+    @InjectMocks
+    private BudgetService budgetService;
+
+    @Test
+    @DisplayName("Should leave out the periods that end before the budget started")
+    void shouldSkipPeriodsBeforeBudgetStart() {
+        // Given
+        YearMonth currentMonth = YearMonth.now();
+        LocalDate startDate = currentMonth.minusMonths(2).atDay(10);
+        givenHistories(new BudgetHistory(1L, "Food", "#f00", new BigDecimal("200.00"), BudgetPeriod.MONTHLY,
+                startDate, null, Map.of(currentMonth.minusMonths(1).atDay(1), new BigDecimal("150.00"))));
+
+        // When
+        List<BudgetHistoryResponse> history = budgetService.getBudgetHistory(6);
+
+        // Then: the month the budget started in counts, earlier ones do not
+        assertThat(history).singleElement().satisfies(budget -> {
+            assertThat(budget.getPeriods()).extracting(BudgetHistoryResponse.PeriodEntry::getPeriodStart)
+                    .containsExactly(currentMonth.minusMonths(2).atDay(1), currentMonth.minusMonths(1).atDay(1),
+                            currentMonth.atDay(1));
+            assertThat(budget.getPeriods().get(0).getSpentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(budget.getPeriods().get(1).getSpentAmount()).isEqualByComparingTo("150.00");
+            assertThat(budget.getPeriods().get(1).getPeriodEnd())
+                    .isEqualTo(currentMonth.minusMonths(1).atEndOfMonth());
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave out the periods that start after the budget ended")
+    void shouldSkipPeriodsAfterBudgetEnd() {
+        // Given
+        YearMonth currentMonth = YearMonth.now();
+        LocalDate endDate = currentMonth.minusMonths(3).atDay(5);
+        givenHistories(new BudgetHistory(1L, "Food", "#f00", new BigDecimal("200.00"), BudgetPeriod.MONTHLY,
+                currentMonth.minusYears(2).atDay(1), endDate, Map.of()));
+
+        // When
+        List<BudgetHistoryResponse> history = budgetService.getBudgetHistory(6);
+
+        // Then: the month the budget ended in still counts
+        assertThat(history).singleElement().satisfies(budget ->
+                assertThat(budget.getPeriods()).extracting(BudgetHistoryResponse.PeriodEntry::getPeriodStart)
+                        .containsExactly(currentMonth.minusMonths(5).atDay(1), currentMonth.minusMonths(4).atDay(1),
+                                currentMonth.minusMonths(3).atDay(1)));
+    }
+
+    @Test
+    @DisplayName("Should bucket weekly history on Mondays, including the week that spans New Year")
+    void shouldBucketWeeklyHistoryOnMondaysAcrossYearBoundary() {
+        // Given: sixty weeks always reach back past the first of January
+        LocalDate currentWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate newYearWeek = LocalDate.now().withDayOfYear(1)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        when(userService.getCurrentPrincipal())
+                .thenReturn(new UserPrincipal(1L, "john@example.com", null, UserRole.USER));
+        when(budgetProgressRepository.findHistory(eq(1L), eq(currentWeek.minusWeeks(59)), eq(currentWeek.plusDays(6)),
+                any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(new BudgetHistory(1L, "Food", "#f00", new BigDecimal("100.00"),
+                        BudgetPeriod.WEEKLY, currentWeek.minusYears(2), null,
+                        Map.of(newYearWeek, new BigDecimal("65.00")))));
+
+        // When
+        List<BudgetHistoryResponse> history = budgetService.getBudgetHistory(60);
+
+        // Then
+        List<BudgetHistoryResponse.PeriodEntry> periods = history.get(0).getPeriods();
+        assertThat(periods).hasSize(60);
+        assertThat(periods).allSatisfy(period -> {
+            assertThat(period.getPeriodStart().getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+            assertThat(ChronoUnit.DAYS.between(period.getPeriodStart(), period.getPeriodEnd())).isEqualTo(6);
+        });
+        for (int i = 1; i < periods.size(); i++) {
+            assertThat(periods.get(i).getPeriodStart()).isEqualTo(periods.get(i - 1).getPeriodStart().plusWeeks(1));
+        }
+        assertThat(periods.get(59).getPeriodStart()).isEqualTo(currentWeek);
+        assertThat(periods).filteredOn(period -> period.getPeriodStart().equals(newYearWeek))
+                .singleElement()
+                .satisfies(period -> assertThat(period.getSpentAmount()).isEqualByComparingTo("65.00"));
+    }
+
+    @Test
+    @DisplayName("Should read yearly spending keyed by the first of January and rate adherence")
+    void shouldBuildYearlyHistoryWithAdherence() {
+        // Given
+        int year = LocalDate.now().getYear();
+        givenHistories(new BudgetHistory(1L, "Travel", "#0f0", new BigDecimal("1000.00"), BudgetPeriod.YEARLY,
+                LocalDate.of(year - 5, 1, 1), null, Map.of(
+                        LocalDate.of(year - 2, 1, 1), new BigDecimal("1200.00"),
+                        LocalDate.of(year - 1, 1, 1), new BigDecimal("850.00"),
+                        LocalDate.of(year, 1, 1), new BigDecimal("100.00"))));
+
+        // When
+        List<BudgetHistoryResponse> history = budgetService.getBudgetHistory(3);
+
+        // Then
+        BudgetHistoryResponse budget = history.get(0);
+        assertThat(budget.getPeriods()).extracting(BudgetHistoryResponse.PeriodEntry::getPeriodEnd)
+                .containsExactly(LocalDate.of(year - 2, 12, 31), LocalDate.of(year - 1, 12, 31),
+                        LocalDate.of(year, 12, 31));
+        assertThat(budget.getPeriods()).extracting(BudgetHistoryResponse.PeriodEntry::getStatus)
+                .containsExactly(BudgetStatus.EXCEEDED, BudgetStatus.WARNING, BudgetStatus.OK);
+        assertThat(budget.getPeriods().get(0).getRemainingAmount()).isEqualByComparingTo("-200.00");
+        assertThat(budget.getPeriodsExceeded()).isEqualTo(1);
+        assertThat(budget.getAdherenceRate()).isEqualTo(66.7);
+    }
+
+    @Test
+    @DisplayName("Should reject a budget history outside the period limits")
+    void shouldRejectInvalidHistoryPeriods() {
+        // When & Then
+        assertThatThrownBy(() -> budgetService.getBudgetHistory(0))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Budget history is limited to 1-60 periods");
+        assertThatThrownBy(() -> budgetService.getBudgetHistory(61))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(budgetProgressRepository);
+    }
+
+    private void givenHistories(BudgetHistory... histories) {
+        when(userService.getCurrentPrincipal())
+                .thenReturn(new UserPrincipal(1L, "john@example.com", null, UserRole.USER));
+        when(budgetProgressRepository.findHistory(eq(1L), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(List.of(histories));
+    }
+}
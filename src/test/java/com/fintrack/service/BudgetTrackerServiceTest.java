@@ -0,0 +1,175 @@
+package com.fintrack.service;
+
+import com.fintrack.dto.response.BudgetProgressResponse;
+import com.fintrack.event.BudgetStatusChangedEvent;
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.event.UserDataChangedEvent;
+import com.fintrack.model.enums.BudgetPeriod;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.BudgetProgressRepository;
+import com.fintrack.repository.BudgetProgressRepository.BudgetSpending;
+import com.fintrack.repository.TransactionAggregateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetTrackerServiceTest {
+
+    @Mock
+    private BudgetProgressRepository budgetProgressRepository;
+
+    @Mock
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BudgetTrackerService budgetTrackerService;
+
+    @BeforeEach
+    void setUp() {
+        budgetTrackerService = new BudgetTrackerService(budgetProgressRepository, transactionAggregateRepository,
+                eventPublisher, new SimpleMeterRegistry(), 900000);
+    }
+
+    @Test
+    @DisplayName("Should update tracked spending in memory and publish the crossing into WARNING")
+    void shouldTrackExpenseAndPublishStatusChange() {
+        // Given
+        when(budgetProgressRepository.findSpending(eq(1L), any(), any(), any(), any()))
+                .thenReturn(List.of(new BudgetSpending(5L, 10L, "Food", "#f00", new BigDecimal("100.00"),
+                        BudgetPeriod.MONTHLY, LocalDate.now().withDayOfMonth(1), null, new BigDecimal("70.00"))));
+        budgetTrackerService.getProgress(1L);
+
+        // When
+        budgetTrackerService.onTransactionChanged(new TransactionChangedEvent(1L, 100L, null,
+                new TransactionChangedEvent.Snapshot(10L, TransactionType.EXPENSE, LocalDate.now(),
+                        new BigDecimal("15.00"))));
+        budgetTrackerService.onTransactionChanged(new TransactionChangedEvent(1L, 101L, null,
+                new TransactionChangedEvent.Snapshot(10L, TransactionType.INCOME, LocalDate.now(),
+                        new BigDecimal("500.00"))));
+        List<BudgetProgressResponse> progress = budgetTrackerService.getProgress(1L);
+
+        // Then
+        verify(budgetProgressRepository, times(1)).findSpending(eq(1L), any(), any(), any(), any());
+        assertThat(progress).singleElement().satisfies(budget -> {
+            assertThat(budget.getSpentAmount()).isEqualByComparingTo("85.00");
+            assertThat(budget.getStatus()).isEqualTo(BudgetProgressResponse.BudgetStatus.WARNING);
+        });
+        verify(eventPublisher).publishEvent(new BudgetStatusChangedEvent(1L, 5L, "Food",
+                BudgetProgressResponse.BudgetStatus.OK, BudgetProgressResponse.BudgetStatus.WARNING,
+                new BigDecimal("85.00"), new BigDecimal("100.00")));
+    }
+
+    @Test
+    @DisplayName("Should ignore expenses outside the budget's current period")
+    void shouldIgnoreExpenseOutsidePeriod() {
+        // Given
+        when(budgetProgressRepository.findSpending(eq(1L), any(), any(), any(), any()))
+                .thenReturn(List.of(new BudgetSpending(5L, 10L, "Food", "#f00", new BigDecimal("100.00"),
+                        BudgetPeriod.MONTHLY, LocalDate.now().withDayOfMonth(1), null, new BigDecimal("70.00"))));
+        budgetTrackerService.getProgress(1L);
+
+        // When
+        budgetTrackerService.onTransactionChanged(new TransactionChangedEvent(1L, 100L, null,
+                new TransactionChangedEvent.Snapshot(10L, TransactionType.EXPENSE,
+                        LocalDate.now().minusMonths(1), new BigDecimal("50.00"))));
+
+        // Then
+        assertThat(budgetTrackerService.getProgress(1L)).singleElement()
+                .satisfies(budget -> assertThat(budget.getSpentAmount()).isEqualByComparingTo("70.00"));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should reseed a watched user's dropped budgets on write and still publish the crossing")
+    void shouldPublishStatusChangeForWatchedUserWithoutTrackedBudgets() {
+        // Given: the budgets seeded on watch are dropped by a budget write committed with the expense
+        when(budgetProgressRepository.findSpending(eq(1L), any(), any(), any(), any()))
+                .thenReturn(List.of(foodBudget("70.00")), List.of(foodBudget("85.00")));
+        budgetTrackerService.watch(1L);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            budgetTrackerService.onUserDataChanged(new UserDataChangedEvent(1L));
+            budgetTrackerService.onTransactionChanged(expense(100L, "15.00"));
+            budgetTrackerService.onUserDataChanged(new UserDataChangedEvent(1L));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then: the reseed was installed, so the next read is served from memory
+        verify(eventPublisher).publishEvent(new BudgetStatusChangedEvent(1L, 5L, "Food",
+                BudgetProgressResponse.BudgetStatus.OK, BudgetProgressResponse.BudgetStatus.WARNING,
+                new BigDecimal("85.00"), new BigDecimal("100.00")));
+        assertThat(budgetTrackerService.getProgress(1L)).singleElement()
+                .satisfies(budget -> assertThat(budget.getSpentAmount()).isEqualByComparingTo("85.00"));
+        verify(budgetProgressRepository, times(2)).findSpending(eq(1L), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reseed instead of evicting the expired budgets of a watched user")
+    void shouldKeepWatchedUserTrackedPastTtl() {
+        // Given
+        BudgetTrackerService expiringTracker = new BudgetTrackerService(budgetProgressRepository,
+                transactionAggregateRepository, eventPublisher, new SimpleMeterRegistry(), 0);
+        when(budgetProgressRepository.findSpending(eq(1L), any(), any(), any(), any()))
+                .thenReturn(List.of(foodBudget("70.00")));
+        expiringTracker.watch(1L);
+
+        // When
+        expiringTracker.evictExpired();
+        expiringTracker.onTransactionChanged(expense(100L, "15.00"));
+
+        // Then
+        verify(budgetProgressRepository, times(2)).findSpending(eq(1L), any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(any(BudgetStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should not query for a write of a user nobody is watching and nothing is tracked for")
+    void shouldIgnoreWriteOfUntrackedUnwatchedUser() {
+        // When
+        budgetTrackerService.onTransactionChanged(expense(100L, "15.00"));
+
+        // Then
+        verifyNoInteractions(budgetProgressRepository, eventPublisher);
+    }
+
+    private static BudgetSpending foodBudget(String spent) {
+        return new BudgetSpending(5L, 10L, "Food", "#f00", new BigDecimal("100.00"),
+                BudgetPeriod.MONTHLY, LocalDate.now().withDayOfMonth(1), null, new BigDecimal(spent));
+    }
+
+    private static TransactionChangedEvent expense(Long transactionId, String amount) {
+        return new TransactionChangedEvent(1L, transactionId, null,
+                new TransactionChangedEvent.Snapshot(10L, TransactionType.EXPENSE, LocalDate.now(),
+                        new BigDecimal(amount)));
+    }
+}
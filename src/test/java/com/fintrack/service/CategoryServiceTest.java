@@ -5,10 +5,13 @@ import com.fintrack.dto.response.CategoryResponse;
 import com.fintrack.exception.BadRequestException;
 import com.fintrack.exception.ResourceNotFoundException;
 import com.fintrack.model.Category;
+import com.fintrack.model.CategoryPreference;
 import com.fintrack.model.User;
 import com.fintrack.model.enums.TransactionType;
 import com.fintrack.model.enums.UserRole;
+import com.fintrack.repository.CategoryPreferenceRepository;
 import com.fintrack.repository.CategoryRepository;
+import com.fintrack.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,10 +38,20 @@ class CategoryServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private CategoryPreferenceRepository categoryPreferenceRepository;
+
+    @Mock
+    private SystemCategoryCatalog systemCategoryCatalog;
+
+    @Mock
+    private UserDataVersionService userDataVersionService;
+
     @InjectMocks
     private CategoryService categoryService;
 
     private User user;
+    private UserPrincipal principal;
     private Category category;
     private CategoryRequest categoryRequest;
 
@@ -51,6 +64,8 @@ class CategoryServiceTest {
                 .role(UserRole.USER)
                 .build();
 
+        principal = UserPrincipal.from(user);
+
         category = Category.builder()
                 .id(1L)
                 .user(user)
@@ -72,7 +87,7 @@ class CategoryServiceTest {
     void shouldGetAllCategoriesForUser() {
         // Given
         List<Category> categories = Arrays.asList(category);
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
         when(categoryRepository.findByUserId(anyLong())).thenReturn(categories);
 
         // When
@@ -83,7 +98,7 @@ class CategoryServiceTest {
         assertThat(response).hasSize(1);
         assertThat(response.get(0).getName()).isEqualTo("Food");
 
-        verify(userService).getCurrentUserEntity();
+        verify(userService).getCurrentPrincipal();
         verify(categoryRepository).findByUserId(1L);
     }
 
@@ -91,7 +106,8 @@ class CategoryServiceTest {
     @DisplayName("Should create category successfully")
     void shouldCreateCategorySuccessfully() {
         // Given
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(userService.getCurrentUserReference()).thenReturn(user);
         when(categoryRepository.existsByUserIdAndName(anyLong(), anyString())).thenReturn(false);
         when(categoryRepository.save(any(Category.class))).thenReturn(category);
 
@@ -110,7 +126,7 @@ class CategoryServiceTest {
     @DisplayName("Should throw exception when creating duplicate category")
     void shouldThrowExceptionWhenCreatingDuplicateCategory() {
         // Given
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
         when(categoryRepository.existsByUserIdAndName(anyLong(), anyString())).thenReturn(true);
 
         // When & Then
@@ -125,7 +141,7 @@ class CategoryServiceTest {
     @DisplayName("Should get category by id")
     void shouldGetCategoryById() {
         // Given
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
         when(categoryRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(category));
 
         // When
@@ -143,7 +159,7 @@ class CategoryServiceTest {
     @DisplayName("Should throw exception when category not found")
     void shouldThrowExceptionWhenCategoryNotFound() {
         // Given
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
         when(categoryRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.empty());
 
         // When & Then
@@ -156,7 +172,7 @@ class CategoryServiceTest {
     @DisplayName("Should delete category successfully")
     void shouldDeleteCategorySuccessfully() {
         // Given
-        when(userService.getCurrentUserEntity()).thenReturn(user);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
         when(categoryRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(category));
         doNothing().when(categoryRepository).delete(any(Category.class));
 
@@ -167,4 +183,158 @@ class CategoryServiceTest {
         verify(categoryRepository).findByIdAndUserId(1L, 1L);
         verify(categoryRepository).delete(category);
     }
+
+    @Test
+    @DisplayName("Should list system categories with user overrides and without hidden ones")
+    void shouldListSystemCategoriesWithOverrides() {
+        // Given
+        Category salary = Category.builder().id(100L).name("Salário").type(TransactionType.INCOME)
+                .color("#27AE60").icon("dollar-sign").build();
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE)
+                .color("#F39C12").icon("gamepad").build();
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(systemCategoryCatalog.findAll(null)).thenReturn(List.of(salary, leisure));
+        when(categoryPreferenceRepository.findByUserId(1L)).thenReturn(List.of(
+                CategoryPreference.builder().userId(1L).categoryId(100L).color("#000000").build(),
+                CategoryPreference.builder().userId(1L).categoryId(101L).hidden(true).build()));
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(category));
+
+        // When
+        List<CategoryResponse> response = categoryService.getAllCategories(null);
+
+        // Then
+        assertThat(response).extracting(CategoryResponse::getName).containsExactly("Salário", "Food");
+        assertThat(response.get(0).getColor()).isEqualTo("#000000");
+        assertThat(response.get(0).isSystem()).isTrue();
+        assertThat(response.get(1).isSystem()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should hide a system category instead of deleting it")
+    void shouldHideSystemCategoryOnDelete() {
+        // Given
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(systemCategoryCatalog.isSystem(100L)).thenReturn(true);
+        when(categoryPreferenceRepository.findByUserIdAndCategoryId(1L, 100L)).thenReturn(Optional.empty());
+
+        // When
+        categoryService.deleteCategory(100L);
+
+        // Then
+        verify(categoryPreferenceRepository).save(argThat(preference ->
+                preference.getCategoryId().equals(100L) && preference.getHidden()));
+        verify(categoryRepository, never()).delete(any(Category.class));
+    }
+
+    @Test
+    @DisplayName("Should restore a hidden system category")
+    void shouldRestoreHiddenSystemCategory() {
+        // Given
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE)
+                .color("#F39C12").icon("gamepad").build();
+        CategoryPreference preference = CategoryPreference.builder().userId(1L).categoryId(101L).hidden(true).build();
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(systemCategoryCatalog.find(101L)).thenReturn(Optional.of(leisure));
+        when(categoryPreferenceRepository.findByUserIdAndCategoryId(1L, 101L)).thenReturn(Optional.of(preference));
+        when(categoryPreferenceRepository.save(preference)).thenReturn(preference);
+
+        // When
+        CategoryResponse response = categoryService.restoreCategory(101L);
+
+        // Then
+        assertThat(response.isHidden()).isFalse();
+        assertThat(preference.getHidden()).isFalse();
+        verify(userDataVersionService).recordWrite(1L);
+    }
+
+    @Test
+    @DisplayName("Should not give access to a system category the user has hidden")
+    void shouldNotAccessHiddenSystemCategory() {
+        // Given
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE).build();
+        when(systemCategoryCatalog.find(101L)).thenReturn(Optional.of(leisure));
+        when(categoryPreferenceRepository.existsByUserIdAndCategoryIdAndHiddenTrue(1L, 101L)).thenReturn(true);
+
+        // When
+        Optional<Category> accessible = categoryService.findAccessibleCategory(101L, 1L);
+
+        // Then
+        assertThat(accessible).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a name taken by a visible system category of the same type")
+    void shouldRejectNameOfVisibleSystemCategory() {
+        // Given
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE).build();
+        categoryRequest.setName("Lazer");
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(systemCategoryCatalog.findByNameAndType("Lazer", TransactionType.EXPENSE)).thenReturn(Optional.of(leisure));
+        when(categoryPreferenceRepository.existsByUserIdAndCategoryIdAndHiddenTrue(1L, 101L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.createCategory(categoryRequest))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("A category with this name already exists");
+
+        verify(categoryRepository, never()).save(any(Category.class));
+    }
+
+    @Test
+    @DisplayName("Should allow the name of a system category the user has hidden")
+    void shouldAllowNameOfHiddenSystemCategory() {
+        // Given
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE).build();
+        categoryRequest.setName("Lazer");
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(userService.getCurrentUserReference()).thenReturn(user);
+        when(systemCategoryCatalog.findByNameAndType("Lazer", TransactionType.EXPENSE)).thenReturn(Optional.of(leisure));
+        when(categoryPreferenceRepository.existsByUserIdAndCategoryIdAndHiddenTrue(1L, 101L)).thenReturn(true);
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+
+        // When
+        categoryService.createCategory(categoryRequest);
+
+        // Then
+        verify(categoryRepository).save(argThat(saved -> saved.getName().equals("Lazer")));
+    }
+
+    @Test
+    @DisplayName("Should allow the name of a system category of the other type")
+    void shouldAllowNameOfSystemCategoryWithOtherType() {
+        // Given
+        categoryRequest.setName("Lazer");
+        categoryRequest.setType(TransactionType.INCOME);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(userService.getCurrentUserReference()).thenReturn(user);
+        when(systemCategoryCatalog.findByNameAndType("Lazer", TransactionType.INCOME)).thenReturn(Optional.empty());
+        when(categoryRepository.save(any(Category.class))).thenReturn(category);
+
+        // When
+        categoryService.createCategory(categoryRequest);
+
+        // Then
+        verify(categoryRepository).save(any(Category.class));
+        verify(categoryPreferenceRepository, never()).existsByUserIdAndCategoryIdAndHiddenTrue(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not restore a system category whose name the user has taken since hiding it")
+    void shouldNotRestoreSystemCategoryWhoseNameIsTaken() {
+        // Given
+        Category leisure = Category.builder().id(101L).name("Lazer").type(TransactionType.EXPENSE).build();
+        CategoryPreference preference = CategoryPreference.builder().userId(1L).categoryId(101L).hidden(true).build();
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        when(systemCategoryCatalog.find(101L)).thenReturn(Optional.of(leisure));
+        when(categoryPreferenceRepository.findByUserIdAndCategoryId(1L, 101L)).thenReturn(Optional.of(preference));
+        when(categoryRepository.existsByUserIdAndName(1L, "Lazer")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> categoryService.restoreCategory(101L))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("A category with this name already exists");
+
+        assertThat(preference.getHidden()).isTrue();
+        verify(categoryPreferenceRepository, never()).save(any(CategoryPreference.class));
+    }
 }
@@ -0,0 +1,54 @@
+package com.fintrack.service;
+
+import com.fintrack.exception.ServiceUnavailableException;
+import com.fintrack.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveUpdateServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BudgetTrackerService budgetTrackerService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should reject live connections beyond the per-node cap")
+    void shouldRejectConnectionsBeyondCap() {
+        // Given
+        UserPrincipal principal = mock(UserPrincipal.class);
+        when(principal.getId()).thenReturn(1L);
+        when(userService.getCurrentPrincipal()).thenReturn(principal);
+        LiveUpdateService liveUpdateService = new LiveUpdateService(userService, budgetTrackerService, executor,
+                new SimpleMeterRegistry(), 1, 8, 60000);
+        liveUpdateService.subscribe();
+
+        // When / Then
+        assertThatThrownBy(liveUpdateService::subscribe)
+                .isInstanceOf(ServiceUnavailableException.class);
+        verify(budgetTrackerService, times(1)).watch(1L);
+    }
+}
@@ -0,0 +1,80 @@
+package com.fintrack.service;
+
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.MonthlyRollupRepository;
+import com.fintrack.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExecutorService reportExecutor;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    @Test
+    @DisplayName("Should move a transaction between month buckets when its date changes")
+    void shouldMoveTransactionBetweenMonths() {
+        // Given
+        TransactionChangedEvent.Snapshot before = new TransactionChangedEvent.Snapshot(
+                10L, TransactionType.EXPENSE, LocalDate.of(2024, 2, 10), new BigDecimal("50.00"));
+        TransactionChangedEvent.Snapshot after = new TransactionChangedEvent.Snapshot(
+                10L, TransactionType.EXPENSE, LocalDate.of(2024, 1, 31), new BigDecimal("80.00"));
+
+        // When
+        monthlyRollupService.onTransactionChanged(new TransactionChangedEvent(1L, 100L, before, after));
+
+        // Then
+        InOrder inOrder = inOrder(monthlyRollupRepository);
+        inOrder.verify(monthlyRollupRepository).addToBucket(1L, YearMonth.of(2024, 1), 10L,
+                TransactionType.EXPENSE, new BigDecimal("80.00"), 1);
+        inOrder.verify(monthlyRollupRepository).addToBucket(1L, YearMonth.of(2024, 2), 10L,
+                TransactionType.EXPENSE, new BigDecimal("-50.00"), -1);
+        verifyNoMoreInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should adjust a single bucket when only the amount changes")
+    void shouldAdjustSingleBucketOnAmountChange() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 3, 5);
+        TransactionChangedEvent.Snapshot before = new TransactionChangedEvent.Snapshot(
+                10L, TransactionType.EXPENSE, date, new BigDecimal("50.00"));
+        TransactionChangedEvent.Snapshot after = new TransactionChangedEvent.Snapshot(
+                10L, TransactionType.EXPENSE, date, new BigDecimal("65.00"));
+
+        // When
+        monthlyRollupService.onTransactionChanged(new TransactionChangedEvent(1L, 100L, before, after));
+
+        // Then
+        verify(monthlyRollupRepository).addToBucket(1L, YearMonth.of(2024, 3), 10L,
+                TransactionType.EXPENSE, new BigDecimal("15.00"), 0);
+        verifyNoMoreInteractions(monthlyRollupRepository);
+    }
+}
@@ -0,0 +1,358 @@
+package com.fintrack.service;
+
+import com.fintrack.dto.response.CategoryMatrixResponse;
+import com.fintrack.dto.response.FinancialOverviewResponse;
+import com.fintrack.dto.response.MonthSummaryResponse;
+import com.fintrack.dto.response.MonthlyEvolutionResponse;
+import com.fintrack.dto.response.TimeSeriesPointResponse;
+import com.fintrack.dto.response.TransactionResponse;
+import com.fintrack.exception.BadRequestException;
+import com.fintrack.model.enums.TimeBucket;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.model.enums.UserRole;
+import com.fintrack.repository.MonthlyRollupRepository;
+import com.fintrack.repository.TransactionAggregateRepository;
+import com.fintrack.repository.TransactionAggregateRepository.DatedTotals;
+import com.fintrack.repository.UserBalanceRepository;
+import com.fintrack.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Mock
+    private UserBalanceRepository userBalanceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        reportService = new ReportService(transactionService, userService, monthlyRollupRepository,
+                transactionAggregateRepository, userBalanceRepository, transactionManager, executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(reportService, "overviewTimeoutMs", 500L);
+        when(userService.getCurrentPrincipal())
+                .thenReturn(new UserPrincipal(1L, "john@example.com", null, UserRole.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the remaining sections when one overview part fails")
+    void shouldReturnPartialOverviewWhenPartFails() {
+        // Given
+        when(monthlyRollupRepository.sumByMonth(eq(1L), any(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        when(monthlyRollupRepository.sumByCategory(eq(1L), any(), any())).thenReturn(List.of());
+        when(transactionService.getRecentTransactions(1L, 5)).thenReturn(List.of(new TransactionResponse()));
+        when(userBalanceRepository.findTotals(1L))
+                .thenReturn(new UserBalanceRepository.Totals(BigDecimal.TEN, BigDecimal.ONE, 2));
+
+        // When
+        FinancialOverviewResponse overview = reportService.getFinancialOverview();
+
+        // Then
+        assertThat(overview.getCurrentMonth()).isNull();
+        assertThat(overview.getUnavailableParts()).containsExactly("currentMonth");
+        assertThat(overview.getRecentTransactions()).hasSize(1);
+        assertThat(overview.getTotalAllTime().getBalance()).isEqualTo(BigDecimal.valueOf(9));
+    }
+
+    @Test
+    @DisplayName("Should not wait past the deadline for a slow overview part")
+    void shouldSkipPartsThatMissTheDeadline() {
+        // Given
+        when(monthlyRollupRepository.sumByMonth(eq(1L), any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(monthlyRollupRepository.sumByCategory(eq(1L), any(), any())).thenReturn(List.of());
+        when(transactionService.getRecentTransactions(1L, 5)).thenReturn(List.of());
+        when(userBalanceRepository.findTotals(1L)).thenReturn(UserBalanceRepository.Totals.empty());
+
+        // When
+        long start = System.nanoTime();
+        FinancialOverviewResponse overview = reportService.getFinancialOverview();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(elapsedMs).isLessThan(2000);
+        assertThat(overview.getUnavailableParts()).contains("currentMonth");
+        assertThat(overview.getTopCategories()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should compare the current month with the previous one")
+    void shouldCompareCurrentMonthWithPreviousMonth() {
+        // Given
+        YearMonth currentMonth = YearMonth.now();
+        when(monthlyRollupRepository.sumByMonth(1L, currentMonth.minusMonths(1), currentMonth)).thenReturn(List.of(
+                new MonthlyRollupRepository.MonthlyTotals(currentMonth.minusMonths(1),
+                        new BigDecimal("1000.00"), new BigDecimal("400.00"), 5),
+                new MonthlyRollupRepository.MonthlyTotals(currentMonth,
+                        new BigDecimal("1000.00"), new BigDecimal("500.00"), 6)));
+
+        // When
+        MonthSummaryResponse summary = reportService.getMonthSummary();
+
+        // Then
+        assertThat(summary.getMonth()).isEqualTo(currentMonth.toString());
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("500.00");
+        assertThat(summary.getBalance()).isEqualByComparingTo("500.00");
+        assertThat(summary.getComparisonWithPreviousMonth().getIncomeChange()).isEqualTo(0.0);
+        assertThat(summary.getComparisonWithPreviousMonth().getExpenseChange()).isEqualTo(25.0);
+        assertThat(summary.getComparisonWithPreviousMonth().getBalanceChange()).isEqualTo(-16.7);
+    }
+
+    @Test
+    @DisplayName("Should fill months without rollups with zeros in the monthly evolution")
+    void shouldZeroFillMonthlyEvolution() {
+        // Given
+        when(monthlyRollupRepository.sumByMonth(1L, YearMonth.of(2024, 11), YearMonth.of(2025, 2))).thenReturn(List.of(
+                new MonthlyRollupRepository.MonthlyTotals(YearMonth.of(2025, 1),
+                        new BigDecimal("300.00"), new BigDecimal("120.00"), 3)));
+
+        // When
+        List<MonthlyEvolutionResponse> evolution = reportService.getMonthlyEvolution(null, "2024-11", "2025-02");
+
+        // Then
+        assertThat(evolution).extracting(MonthlyEvolutionResponse::getMonth)
+                .containsExactly("2024-11", "2024-12", "2025-01", "2025-02");
+        assertThat(evolution.get(0).getExpense()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(evolution.get(2).getExpense()).isEqualByComparingTo("120.00");
+        assertThat(evolution.get(2).getBalance()).isEqualByComparingTo("180.00");
+        assertThat(evolution.get(3).getIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should emit a point for every daily bucket, including days without transactions")
+    void shouldFillEmptyDailyBuckets() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 3, 1);
+        ReportService.TimeSeriesQuery query = reportService.prepareTimeSeries(start, start.plusDays(3),
+                TimeBucket.DAY, null, null, false);
+        doAnswer(invocation -> {
+            Consumer<DatedTotals> consumer = invocation.getArgument(6);
+            consumer.accept(new DatedTotals(start.plusDays(1), null, null, null,
+                    BigDecimal.ZERO, new BigDecimal("45.00"), 2));
+            return null;
+        }).when(transactionAggregateRepository)
+                .streamDailyTotals(eq(1L), eq(start), eq(start.plusDays(3)), isNull(), isNull(), eq(false), any());
+
+        // When
+        List<TimeSeriesPointResponse> points = new ArrayList<>();
+        reportService.streamTimeSeries(query, points::add);
+
+        // Then
+        assertThat(points).extracting(TimeSeriesPointResponse::getStart)
+                .containsExactly(start, start.plusDays(1), start.plusDays(2), start.plusDays(3));
+        assertThat(points.get(0).getTransactionCount()).isZero();
+        assertThat(points.get(1).getExpense()).isEqualByComparingTo("45.00");
+        assertThat(points.get(1).getBalance()).isEqualByComparingTo("-45.00");
+    }
+
+    @Test
+    @DisplayName("Should clip weekly buckets to the requested range and sum the days of each week")
+    void shouldSumDaysIntoClippedWeeklyBuckets() {
+        // Given: 2025-01-01 is a Wednesday, so the first week starts on Monday 2024-12-30
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 1, 10);
+        ReportService.TimeSeriesQuery query = reportService.prepareTimeSeries(start, end,
+                TimeBucket.WEEK, null, null, false);
+        doAnswer(invocation -> {
+            Consumer<DatedTotals> consumer = invocation.getArgument(6);
+            consumer.accept(new DatedTotals(LocalDate.of(2025, 1, 2), null, null, null,
+                    BigDecimal.ZERO, new BigDecimal("10.00"), 1));
+            consumer.accept(new DatedTotals(LocalDate.of(2025, 1, 5), null, null, null,
+                    new BigDecimal("50.00"), new BigDecimal("15.00"), 2));
+            consumer.accept(new DatedTotals(LocalDate.of(2025, 1, 6), null, null, null,
+                    BigDecimal.ZERO, new BigDecimal("7.00"), 1));
+            return null;
+        }).when(transactionAggregateRepository)
+                .streamDailyTotals(eq(1L), eq(start), eq(end), isNull(), isNull(), eq(false), any());
+
+        // When
+        List<TimeSeriesPointResponse> points = new ArrayList<>();
+        reportService.streamTimeSeries(query, points::add);
+
+        // Then
+        assertThat(points).hasSize(2);
+        assertThat(points.get(0).getStart()).isEqualTo(start);
+        assertThat(points.get(0).getEnd()).isEqualTo(LocalDate.of(2025, 1, 5));
+        assertThat(points.get(0).getExpense()).isEqualByComparingTo("25.00");
+        assertThat(points.get(0).getTransactionCount()).isEqualTo(3);
+        assertThat(points.get(1).getStart()).isEqualTo(LocalDate.of(2025, 1, 6));
+        assertThat(points.get(1).getEnd()).isEqualTo(end);
+        assertThat(points.get(1).getExpense()).isEqualByComparingTo("7.00");
+    }
+
+    @Test
+    @DisplayName("Should read a grouped whole-month series from the rollups with a point per category")
+    void shouldStreamGroupedMonthlySeriesFromRollups() {
+        // Given
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 2, 28);
+        ReportService.TimeSeriesQuery query = reportService.prepareTimeSeries(start, end,
+                TimeBucket.MONTH, null, null, true);
+        doAnswer(invocation -> {
+            Consumer<DatedTotals> consumer = invocation.getArgument(6);
+            consumer.accept(new DatedTotals(start, 2L, "Transport", "#00f",
+                    BigDecimal.ZERO, new BigDecimal("60.00"), 2));
+            consumer.accept(new DatedTotals(start, 1L, "Food", "#f00",
+                    BigDecimal.ZERO, new BigDecimal("120.00"), 1));
+            return null;
+        }).when(monthlyRollupRepository).streamMonthlyTotals(eq(1L), eq(YearMonth.of(2025, 1)),
+                eq(YearMonth.of(2025, 2)), isNull(), isNull(), eq(true), any());
+
+        // When
+        List<TimeSeriesPointResponse> points = new ArrayList<>();
+        reportService.streamTimeSeries(query, points::add);
+
+        // Then: February has no data, so grouped output only holds January's categories
+        assertThat(points).extracting(TimeSeriesPointResponse::getCategoryName).containsExactly("Food", "Transport");
+        assertThat(points).allSatisfy(point -> {
+            assertThat(point.getStart()).isEqualTo(start);
+            assertThat(point.getEnd()).isEqualTo(LocalDate.of(2025, 1, 31));
+        });
+        assertThat(points.get(0).getTransactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should order matrix categories by range total and fill months without data with zeros")
+    void shouldBuildCategoryMatrixAcrossYearBoundary() {
+        // Given
+        YearMonth from = YearMonth.of(2024, 11);
+        YearMonth to = YearMonth.of(2025, 2);
+        streamMonthlyTotals(from, to, TransactionType.EXPENSE,
+                new DatedTotals(LocalDate.of(2024, 11, 1), 1L, "Food", "#f00",
+                        BigDecimal.ZERO, new BigDecimal("100.00"), 2),
+                new DatedTotals(LocalDate.of(2024, 12, 1), 2L, "Rent", "#00f",
+                        BigDecimal.ZERO, new BigDecimal("900.00"), 1),
+                new DatedTotals(LocalDate.of(2025, 1, 1), 1L, "Food", "#f00",
+                        BigDecimal.ZERO, new BigDecimal("150.00"), 3),
+                new DatedTotals(LocalDate.of(2025, 1, 1), 2L, "Rent", "#00f",
+                        BigDecimal.ZERO, new BigDecimal("50.00"), 1));
+
+        // When
+        CategoryMatrixResponse matrix = reportService.getCategoryMatrix("2024-11", "2025-02", null);
+
+        // Then
+        assertThat(matrix.getType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(matrix.getMonths()).containsExactly("2024-11", "2024-12", "2025-01", "2025-02");
+        assertThat(matrix.getCategories()).extracting(CategoryMatrixResponse.CategoryEntry::getName)
+                .containsExactly("Rent", "Food");
+        assertThat(matrix.getTotals()[1]).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                new BigDecimal("100.00"), BigDecimal.ZERO, new BigDecimal("150.00"), BigDecimal.ZERO);
+        assertThat(matrix.getCounts()[1]).containsExactly(2, 0, 3, 0);
+        assertThat(matrix.getMonthTotals()).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                new BigDecimal("100.00"), new BigDecimal("900.00"), new BigDecimal("200.00"), BigDecimal.ZERO);
+        assertThat(matrix.getShares()[0]).containsExactly(0.0, 100.0, 25.0, 0.0);
+        assertThat(matrix.getShares()[1]).containsExactly(100.0, 0.0, 75.0, 0.0);
+    }
+
+    @Test
+    @DisplayName("Should build an income matrix from the income column of the rollups")
+    void shouldBuildIncomeCategoryMatrix() {
+        // Given
+        YearMonth month = YearMonth.of(2025, 3);
+        streamMonthlyTotals(month, month, TransactionType.INCOME,
+                new DatedTotals(month.atDay(1), 3L, "Salary", "#0f0",
+                        new BigDecimal("5000.00"), BigDecimal.ZERO, 1));
+
+        // When
+        CategoryMatrixResponse matrix = reportService.getCategoryMatrix("2025-03", "2025-03", TransactionType.INCOME);
+
+        // Then
+        assertThat(matrix.getType()).isEqualTo(TransactionType.INCOME);
+        assertThat(matrix.getTotals()[0][0]).isEqualByComparingTo("5000.00");
+        assertThat(matrix.getShares()[0]).containsExactly(100.0);
+    }
+
+    @Test
+    @DisplayName("Should default the category matrix to the twelve months up to the current one")
+    void shouldDefaultCategoryMatrixToLastTwelveMonths() {
+        // Given
+        YearMonth currentMonth = YearMonth.now();
+        streamMonthlyTotals(currentMonth.minusMonths(11), currentMonth, TransactionType.EXPENSE);
+
+        // When
+        CategoryMatrixResponse matrix = reportService.getCategoryMatrix(null, null, null);
+
+        // Then
+        assertThat(matrix.getMonths()).hasSize(12)
+                .startsWith(currentMonth.minusMonths(11).toString())
+                .endsWith(currentMonth.toString());
+        assertThat(matrix.getCategories()).isEmpty();
+        assertThat(matrix.getMonthTotals()).allSatisfy(total -> assertThat(total).isEqualByComparingTo("0"));
+    }
+
+    @Test
+    @DisplayName("Should reject a category matrix whose range is reversed or too long")
+    void shouldRejectInvalidCategoryMatrixRange() {
+        // When & Then
+        assertThatThrownBy(() -> reportService.getCategoryMatrix("2025-03", "2025-02", null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("'from' month must not be after 'to' month");
+        assertThatThrownBy(() -> reportService.getCategoryMatrix("2015-01", "2025-01", null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Category matrix is limited to 120 months");
+
+        verifyNoInteractions(monthlyRollupRepository);
+    }
+
+    private void streamMonthlyTotals(YearMonth from, YearMonth to, TransactionType type, DatedTotals... rows) {
+        doAnswer(invocation -> {
+            Consumer<DatedTotals> consumer = invocation.getArgument(6);
+            List.of(rows).forEach(consumer);
+            return null;
+        }).when(monthlyRollupRepository)
+                .streamMonthlyTotals(eq(1L), eq(from), eq(to), eq(type), isNull(), eq(true), any());
+    }
+}
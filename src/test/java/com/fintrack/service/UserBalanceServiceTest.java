@@ -0,0 +1,55 @@
+package com.fintrack.service;
+
+import com.fintrack.event.TransactionChangedEvent;
+import com.fintrack.model.enums.TransactionType;
+import com.fintrack.repository.UserBalanceRepository;
+import com.fintrack.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class UserBalanceServiceTest {
+
+    @Mock
+    private UserBalanceRepository userBalanceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private MeterRegistry meterRegistry;
+
+    @InjectMocks
+    private UserBalanceService userBalanceService;
+
+    @Test
+    @DisplayName("Should move the amount from expense to income when the type changes")
+    void shouldMoveAmountBetweenTypes() {
+        // Given
+        LocalDate date = LocalDate.of(2024, 3, 5);
+        TransactionChangedEvent.Snapshot before = new TransactionChangedEvent.Snapshot(
+                10L, TransactionType.EXPENSE, date, new BigDecimal("40.00"));
+        TransactionChangedEvent.Snapshot after = new TransactionChangedEvent.Snapshot(
+                20L, TransactionType.INCOME, date, new BigDecimal("55.00"));
+
+        // When
+        userBalanceService.onTransactionChanged(new TransactionChangedEvent(1L, 100L, before, after));
+
+        // Then
+        verify(userBalanceRepository).addDelta(1L, new BigDecimal("55.00"), new BigDecimal("-40.00"), 0);
+    }
+}
@@ -0,0 +1,109 @@
+package com.fintrack.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+// Records every SQL statement sent through the application DataSource (JPA and JdbcTemplate alike)
+public class SqlStatementCounter {
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    public void reset() {
+        statements.clear();
+    }
+
+    public List<String> getStatements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public long countMatching(String fragment) {
+        String needle = fragment.toLowerCase(Locale.ROOT);
+        return getStatements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(needle))
+                .count();
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            String name = method.getName();
+            if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args != null) {
+                statements.add((String) args[0]);
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof Statement statement && name.equals("createStatement") ? wrap(statement) : result;
+        });
+    }
+
+    private Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, (target, method, args) -> {
+            if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof String sql) {
+                statements.add(sql);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(target, method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private interface Interceptor {
+        Object intercept(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public SqlStatementCounter sqlStatementCounter() {
+            return new SqlStatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor sqlStatementCountingPostProcessor(
+                org.springframework.beans.factory.ObjectProvider<SqlStatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counter.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fintrack.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    @DisplayName("Should accept gzip when listed without a q-value or with a positive one")
+    void shouldAcceptListedGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5, br")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse gzip when its q-value is zero")
+    void shouldRefuseGzipWithZeroQuality() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity, gzip ; q=0.000")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*, gzip;q=0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should follow the wildcard only when gzip is not listed by name")
+    void shouldFollowWildcard() {
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, *;q=0")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not compress for a missing, unrelated or malformed header")
+    void shouldNotAcceptGzipOtherwise() {
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzipped")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=high")).isFalse();
+    }
+}
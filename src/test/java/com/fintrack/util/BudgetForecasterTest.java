@@ -0,0 +1,61 @@
+package com.fintrack.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BudgetForecasterTest {
+
+    @Test
+    @DisplayName("Should project the current run rate when there is no previous period")
+    void shouldProjectLinearlyWithoutHistory() {
+        // Given
+        double[] current = new double[30];
+        current[0] = 40;
+        current[9] = 60;
+
+        // When
+        BudgetForecaster.Forecast forecast = BudgetForecaster.forecast(current, 10, new double[30], 100, 250);
+
+        // Then
+        assertThat(forecast.projectedSpend()).isCloseTo(300, within(0.001));
+        assertThat(forecast.overrunDay()).isEqualTo(24);
+        assertThat(forecast.dailyAllowance()).isCloseTo(150.0 / 21, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should follow the previous period's shape early in the period")
+    void shouldBlendInSeasonalShape() {
+        // Given
+        double[] current = new double[30];
+        current[5] = 100;
+        double[] previous = new double[30];
+        previous[2] = 80;
+
+        // When
+        BudgetForecaster.Forecast forecast = BudgetForecaster.forecast(current, 10, previous, 100, 250);
+
+        // Then
+        assertThat(forecast.projectedSpend()).isCloseTo(300.0 / 3 + 100 * 2.0 / 3, within(0.001));
+        assertThat(forecast.overrunDay()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should report the day an already exceeded budget was crossed")
+    void shouldReportPastOverrunDay() {
+        // Given
+        double[] current = new double[7];
+        current[1] = 60;
+        current[3] = 50;
+        current[4] = 10;
+
+        // When
+        BudgetForecaster.Forecast forecast = BudgetForecaster.forecast(current, 5, new double[7], 120, 100);
+
+        // Then
+        assertThat(forecast.overrunDay()).isEqualTo(3);
+        assertThat(forecast.dailyAllowance()).isZero();
+    }
+}